@@ -0,0 +1,36 @@
+package br.com.enderfy.enderskygrid.config;
+
+import br.com.enderfy.enderskygrid.generator.BenchFixtures;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigLoadBenchmark {
+
+    private String text;
+    private YamlConfiguration yaml;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        text = BenchFixtures.shippedConfigText();
+        yaml = BenchFixtures.shippedYaml();
+    }
+
+    @Benchmark
+    public SkyGridConfig parse() {
+        return ConfigManager.parse(yaml, BenchFixtures.LOGGER, null);
+    }
+
+    @Benchmark
+    public SkyGridConfig loadAndParse() throws InvalidConfigurationException {
+        YamlConfiguration fresh = new YamlConfiguration();
+        fresh.loadFromString(text);
+        return ConfigManager.parse(fresh, BenchFixtures.LOGGER, null);
+    }
+}
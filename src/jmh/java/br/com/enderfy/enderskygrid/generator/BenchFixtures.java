@@ -0,0 +1,55 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import br.com.enderfy.enderskygrid.model.WorldSettings;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class BenchFixtures {
+
+    public static final Logger LOGGER = Logger.getLogger("EnderSkyGrid-bench");
+
+    static {
+        LOGGER.setLevel(Level.SEVERE);
+    }
+
+    private BenchFixtures() {}
+
+    public static String shippedConfigText() {
+        try (InputStream in = BenchFixtures.class.getResourceAsStream("/config.yml")) {
+            if (in == null) throw new IllegalStateException("config.yml not found on the classpath");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static YamlConfiguration shippedYaml() {
+        try (Reader reader = new InputStreamReader(
+                BenchFixtures.class.getResourceAsStream("/config.yml"), StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static SkyGridConfig shippedConfig() {
+        return ConfigManager.parse(shippedYaml(), LOGGER, null);
+    }
+
+    public static SkyGridConfig withOverworld(SkyGridConfig cfg, int spacing, boolean legacyRandom) {
+        WorldSettings o = cfg.overworld();
+        WorldSettings overworld = new WorldSettings(spacing, o.minY(), o.maxY(), legacyRandom, o.defaultBiome(), o.palettes(), o.tileCaps());
+
+        return new SkyGridConfig(cfg.worlds(), overworld, cfg.nether(), cfg.end(), cfg.lootTables(), cfg.lootPools(), cfg.pregen(), cfg.metrics(), cfg.spawners(), cfg.lootPrefetch());
+    }
+}
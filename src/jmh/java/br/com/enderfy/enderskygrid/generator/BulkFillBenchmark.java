@@ -0,0 +1,119 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.World;
+import org.bukkit.generator.WorldInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkFillBenchmark {
+
+    private static final int CHUNK_RING = 32;
+
+    @Param({"1", "2"})
+    public int spacing;
+
+    private SkyGridGenerator generator;
+    private WorldInfo worldInfo;
+    private FakeChunkData chunkData;
+    private Random random;
+    private int chunk;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Blocks {
+        public long blocks;
+        public long calls;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigManager.set(BenchFixtures.withOverworld(BenchFixtures.shippedConfig(), spacing, false));
+
+        generator = new SkyGridGenerator(new ChestIndex());
+        worldInfo = FakeWorldInfo.of("world", World.Environment.NORMAL, 8_675_309L, -64, 320);
+        chunkData = new FakeChunkData(-64, 320);
+        random = new Random(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigManager.set(null);
+    }
+
+    @Benchmark
+    public void bulk(Blocks counters) {
+        int writes = chunkData.writes();
+        int calls = chunkData.calls();
+
+        int chunkX = nextChunkX();
+        int chunkZ = nextChunkZ();
+        generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+        generator.tileIntents().take(worldInfo.getUID(), chunkX, chunkZ);
+        advance();
+
+        counters.blocks += chunkData.writes() - writes;
+        counters.calls += chunkData.calls() - calls;
+    }
+
+    @Benchmark
+    public void perCell(Blocks counters) {
+        int writes = chunkData.writes();
+        int calls = chunkData.calls();
+
+        perCellGenerate(nextChunkX(), nextChunkZ());
+        advance();
+
+        counters.blocks += chunkData.writes() - writes;
+        counters.calls += chunkData.calls() - calls;
+    }
+
+    private int nextChunkX() {
+        return (chunk % CHUNK_RING) - CHUNK_RING / 2;
+    }
+
+    private int nextChunkZ() {
+        return (chunk / CHUNK_RING) - CHUNK_RING / 2;
+    }
+
+    private void advance() {
+        chunk = (chunk + 1) % (CHUNK_RING * CHUNK_RING);
+    }
+
+    private void perCellGenerate(int chunkX, int chunkZ) {
+        WorldSettings settings = generator.binding(worldInfo).settings();
+
+        long seed = worldInfo.getSeed();
+        int baseX = chunkX << 4;
+        int baseZ = chunkZ << 4;
+
+        int minY = Math.max(settings.minY(), chunkData.getMinHeight());
+        int maxY = Math.min(settings.maxY(), chunkData.getMaxHeight() - 1);
+
+        int xStart = GridLayout.alignToChunk(baseX, spacing);
+        int zStart = GridLayout.alignToChunk(baseZ, spacing);
+        int yStart = GridLayout.alignUp(minY, spacing);
+
+        for (int x = xStart; x < 16; x += spacing) {
+            int wx = baseX + x;
+
+            for (int z = zStart; z < 16; z += spacing) {
+                int wz = baseZ + z;
+
+                for (int y = yStart; y <= maxY; y += spacing) {
+                    GridPalette palette = settings.palettes().get(chunkData.getBiome(x, y, z));
+                    GridEntry picked = palette.pick(GridRandom.toDouble(GridRandom.hash(seed, wx, y, wz)));
+                    if (picked == null) continue;
+
+                    chunkData.setBlock(x, y, z, picked.material());
+                }
+            }
+        }
+    }
+}
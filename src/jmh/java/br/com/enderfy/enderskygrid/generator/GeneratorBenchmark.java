@@ -0,0 +1,56 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import org.bukkit.World;
+import org.bukkit.generator.WorldInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeneratorBenchmark {
+
+    private static final int CHUNK_RING = 32;
+
+    @Param({"1", "2", "4", "8"})
+    public int spacing;
+
+    @Param({"false", "true"})
+    public boolean legacyRandom;
+
+    private SkyGridGenerator generator;
+    private WorldInfo worldInfo;
+    private FakeChunkData chunkData;
+    private Random random;
+    private int chunk;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigManager.set(BenchFixtures.withOverworld(BenchFixtures.shippedConfig(), spacing, legacyRandom));
+
+        generator = new SkyGridGenerator(new ChestIndex());
+        worldInfo = FakeWorldInfo.of("world", World.Environment.NORMAL, 8_675_309L, -64, 320);
+        chunkData = new FakeChunkData(-64, 320);
+        random = new Random(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigManager.set(null);
+    }
+
+    @Benchmark
+    public int generateNoise() {
+        int chunkX = (chunk % CHUNK_RING) - CHUNK_RING / 2;
+        int chunkZ = (chunk / CHUNK_RING) - CHUNK_RING / 2;
+        chunk = (chunk + 1) % (CHUNK_RING * CHUNK_RING);
+
+        generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+        generator.tileIntents().take(worldInfo.getUID(), chunkX, chunkZ);
+
+        return chunkData.writes();
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.LootEntry;
+import br.com.enderfy.enderskygrid.model.LootTable;
+import br.com.enderfy.enderskygrid.model.LootTableDef;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LootBenchmark {
+
+    private SkyGridConfig config;
+    private List<String> pool;
+    private LootTable table;
+    private LootEntry[] picked;
+    private int[] amounts;
+    private Map<EntityType, Integer> mobWeights;
+    private int mobTotal;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        config = BenchFixtures.shippedConfig();
+        pool = SkyGridPopulator.defaultPoolFor("overworld");
+
+        LootTable largest = null;
+        for (LootTableDef def : config.lootTables().values()) {
+            if (largest == null || def.table().entries().size() > largest.entries().size()) largest = def.table();
+        }
+        if (largest == null) throw new IllegalStateException("shipped config has no loot tables");
+
+        table = largest;
+        picked = new LootEntry[table.maxRolls()];
+        amounts = new int[table.maxRolls()];
+
+        mobWeights = new LinkedHashMap<>();
+        mobWeights.put(EntityType.ZOMBIE, 30);
+        mobWeights.put(EntityType.SKELETON, 25);
+        mobWeights.put(EntityType.SPIDER, 20);
+        mobWeights.put(EntityType.CREEPER, 15);
+        mobWeights.put(EntityType.ENDERMAN, 10);
+        for (int w : mobWeights.values()) mobTotal += w;
+
+        random = new Random(0);
+    }
+
+    @Benchmark
+    public int rollInto() {
+        return table.rollInto(random, picked, amounts);
+    }
+
+    @Benchmark
+    public void pickLootTableFromPool(Blackhole bh) {
+        bh.consume(SkygridListener.pickLootTableFromPool(config, pool, random));
+    }
+
+    @Benchmark
+    public void pickWeightedMob(Blackhole bh) {
+        bh.consume(SkyGridPopulator.pickWeightedMob(mobWeights, random.nextInt(mobTotal) + 1));
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.model.GridEntry;
+import br.com.enderfy.enderskygrid.model.GridPalette;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaletteBenchmark {
+
+    private static final int ROLLS = 4096;
+
+    @Param({"overworld.biomes-material.PLAINS", "nether.biomes-material.NETHER_WASTES", "end.biomes-material.THE_END"})
+    public String palette;
+
+    private List<GridEntry> entries;
+    private GridPalette compiled;
+    private double[] rolls;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        entries = ConfigManager.gridEntries(BenchFixtures.shippedYaml(), "skygrid." + palette, BenchFixtures.LOGGER);
+        if (entries.isEmpty()) throw new IllegalStateException("shipped config has no entries at " + palette);
+
+        compiled = GridPalette.compile(entries);
+
+        Random random = new Random(8_675_309L);
+        rolls = new double[ROLLS];
+        for (int i = 0; i < ROLLS; i++) rolls[i] = random.nextDouble();
+
+        for (double roll : rolls) {
+            if (pickLinear(entries, roll) != compiled.pick(roll)) throw new IllegalStateException("compiled pick differs from the linear scan at " + roll);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLS)
+    public long linear() {
+        long acc = 0;
+        for (double roll : rolls) {
+            GridEntry e = pickLinear(entries, roll);
+            if (e != null) acc += e.material().ordinal();
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLS)
+    public long compiled() {
+        long acc = 0;
+        for (double roll : rolls) {
+            GridEntry e = compiled.pick(roll);
+            if (e != null) acc += e.material().ordinal();
+        }
+        return acc;
+    }
+
+    static GridEntry pickLinear(List<GridEntry> entries, double roll01) {
+        double total = 0.0;
+        for (GridEntry e : entries) total += Math.max(0.0, e.weight());
+        if (total <= 0) return null;
+
+        double roll = roll01 * total;
+        double acc = 0.0;
+
+        for (GridEntry e : entries) {
+            double w = Math.max(0.0, e.weight());
+            if (w <= 0) continue;
+
+            acc += w;
+            if (roll <= acc) return e;
+        }
+        return null;
+    }
+}
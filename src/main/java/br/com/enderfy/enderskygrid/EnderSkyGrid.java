@@ -1,29 +1,94 @@
 package br.com.enderfy.enderskygrid;
 
+import br.com.enderfy.enderskygrid.command.SkyGridCommand;
 import br.com.enderfy.enderskygrid.config.ConfigManager;
-import br.com.enderfy.enderskygrid.generator.SkyGridGenerator;
+import br.com.enderfy.enderskygrid.generator.ChestIndex;
+import br.com.enderfy.enderskygrid.generator.LootPrefetcher;
+import br.com.enderfy.enderskygrid.generator.SkyGridGenerators;
 import br.com.enderfy.enderskygrid.generator.SkygridListener;
+import br.com.enderfy.enderskygrid.metrics.GenerationMetrics;
+import br.com.enderfy.enderskygrid.metrics.PrometheusExporter;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import br.com.enderfy.enderskygrid.pregen.PregenManager;
+import br.com.enderfy.enderskygrid.spawner.SpawnerManager;
+import org.bukkit.command.PluginCommand;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+
 public final class EnderSkyGrid extends JavaPlugin {
 
     private static EnderSkyGrid INSTANCE;
 
+    private final PregenManager pregen = new PregenManager();
+    private final PrometheusExporter exporter = new PrometheusExporter();
+    private final SpawnerManager spawners = new SpawnerManager();
+    private final ChestIndex chestIndex = new ChestIndex();
+    private final SkyGridGenerators generators = new SkyGridGenerators(chestIndex);
+    private final LootPrefetcher prefetcher = new LootPrefetcher(chestIndex, generators);
+
     @Override
     public void onEnable() {
         INSTANCE = this;
         saveDefaultConfig();
         ConfigManager.load();
+        applySettings();
 
-        getServer().getPluginManager().registerEvents(new SkygridListener(), this);
+        getServer().getPluginManager().registerEvents(chestIndex, this);
+        getServer().getPluginManager().registerEvents(generators, this);
+        getServer().getPluginManager().registerEvents(new SkygridListener(chestIndex, prefetcher, generators), this);
+        getServer().getPluginManager().registerEvents(prefetcher, this);
+        getServer().getPluginManager().registerEvents(spawners, this);
+
+        PluginCommand command = getCommand("skygrid");
+        if (command != null) {
+            SkyGridCommand executor = new SkyGridCommand(pregen, spawners);
+            command.setExecutor(executor);
+            command.setTabCompleter(executor);
+        }
+    }
+
+    @Override
+    public void onDisable() {
+        pregen.stopAll();
+        exporter.stop();
+        spawners.stop();
+        prefetcher.stop();
+        chestIndex.closeAll();
     }
 
     @Override
     public void reloadConfig() {
         super.reloadConfig();
-        ConfigManager.load();
+        if (ConfigManager.get() != null) reload();
+    }
+
+    public CompletableFuture<ConfigManager.Snapshot> reload() {
+        CompletableFuture<ConfigManager.Snapshot> reloaded = ConfigManager.reloadAsync();
+
+        reloaded.whenComplete((snapshot, error) -> {
+            if (error != null) {
+                getLogger().warning("[EnderSkyGrid] Config reload failed: " + error.getMessage());
+                return;
+            }
+            getServer().getScheduler().runTask(this, this::applySettings);
+        });
+        return reloaded;
+    }
+
+    private void applySettings() {
+        ConfigManager.Snapshot snapshot = ConfigManager.snapshot();
+        SkyGridConfig config = snapshot.config();
+        if (config == null) return;
+
+        generators.rebind(snapshot);
+        GenerationMetrics.configure(config.metrics());
+        exporter.apply(config.metrics());
+        spawners.apply(config);
+        chestIndex.apply(config);
+        prefetcher.apply(config);
     }
 
     public static EnderSkyGrid get() {
@@ -32,6 +97,6 @@ public final class EnderSkyGrid extends JavaPlugin {
 
     @Override
     public ChunkGenerator getDefaultWorldGenerator(@NotNull String worldName, String id) {
-        return new SkyGridGenerator();
+        return generators.create(worldName, id, getLogger());
     }
 }
@@ -0,0 +1,175 @@
+package br.com.enderfy.enderskygrid.command;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.metrics.GenerationMetrics;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import br.com.enderfy.enderskygrid.pregen.PregenManager;
+import br.com.enderfy.enderskygrid.pregen.PregenTask;
+import br.com.enderfy.enderskygrid.spawner.SpawnerManager;
+import br.com.enderfy.enderskygrid.utils.TextUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class SkyGridCommand implements TabExecutor {
+
+    private static final List<String> SUBCOMMANDS = List.of("pregen", "reload", "stats");
+
+    private final PregenManager pregen;
+    private final SpawnerManager spawners;
+
+    public SkyGridCommand(PregenManager pregen, SpawnerManager spawners) {
+        this.pregen = pregen;
+        this.spawners = spawners;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (args.length == 0) {
+            sender.sendMessage(TextUtils.of("<gray>Usage: /" + label + " <" + String.join("|", SUBCOMMANDS) + ">").build());
+            return true;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "pregen" -> pregen(sender, label, args);
+            case "reload" -> reload(sender);
+            case "stats" -> stats(sender, args);
+            default -> sender.sendMessage(TextUtils.of("<red>Unknown subcommand: " + args[0]).build());
+        }
+        return true;
+    }
+
+    private void pregen(CommandSender sender, String label, String[] args) {
+        SkyGridConfig config = ConfigManager.get();
+        if (config == null) {
+            sender.sendMessage(TextUtils.of("<red>Config not loaded.").build());
+            return;
+        }
+
+        if (args.length >= 2 && args[1].equalsIgnoreCase("status")) {
+            if (pregen.tasks().isEmpty()) {
+                sender.sendMessage(TextUtils.of("<gray>No pregen running.").build());
+                return;
+            }
+            for (PregenTask task : pregen.tasks()) sender.sendMessage(TextUtils.of("<gray>" + task.status()).build());
+            return;
+        }
+
+        if (args.length >= 3 && args[1].equalsIgnoreCase("stop")) {
+            boolean stopped = pregen.stop(args[2]);
+            sender.sendMessage(TextUtils.of(stopped
+                    ? "<yellow>Pregen of " + args[2] + " stopped, checkpoint saved."
+                    : "<red>No pregen running for " + args[2] + ".").build());
+            return;
+        }
+
+        if (args.length < 3) {
+            sender.sendMessage(TextUtils.of("<gray>Usage: /" + label + " pregen <world> <radius> | stop <world> | status").build());
+            return;
+        }
+
+        String worldName = args[1];
+        if (!config.worlds().contains(worldName)) {
+            sender.sendMessage(TextUtils.of("<red>" + worldName + " is not in skygrid.enabled-worlds.").build());
+            return;
+        }
+
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            sender.sendMessage(TextUtils.of("<red>World not loaded: " + worldName).build());
+            return;
+        }
+
+        if (pregen.isRunning(worldName)) {
+            sender.sendMessage(TextUtils.of("<red>Pregen already running for " + worldName + ".").build());
+            return;
+        }
+
+        int radius;
+        try {
+            radius = Integer.parseInt(args[2]);
+        } catch (NumberFormatException ex) {
+            sender.sendMessage(TextUtils.of("<red>Invalid radius: " + args[2]).build());
+            return;
+        }
+        if (radius < 0 || radius > 1_000_000) {
+            sender.sendMessage(TextUtils.of("<red>Radius must be between 0 and 1000000 blocks.").build());
+            return;
+        }
+
+        PregenTask task = pregen.start(world, radius, config.pregen(), sender);
+        sender.sendMessage(TextUtils.of("<green>Pregen started. " + task.status()).build());
+    }
+
+    private void reload(CommandSender sender) {
+        long start = System.nanoTime();
+        sender.sendMessage(TextUtils.of("<gray>Reloading config in the background...").build());
+
+        EnderSkyGrid.get().reload().whenComplete((snapshot, error) -> Bukkit.getScheduler().runTask(EnderSkyGrid.get(), () -> {
+            if (error != null) {
+                sender.sendMessage(TextUtils.of("<red>Reload failed: " + error.getMessage()).build());
+                return;
+            }
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            sender.sendMessage(TextUtils.of("<green>Config reloaded (generation " + snapshot.generation() + ", " + ms + " ms).").build());
+        }));
+    }
+
+    private void stats(CommandSender sender, String[] args) {
+        if (!GenerationMetrics.enabled()) {
+            sender.sendMessage(TextUtils.of("<gray>Metrics are disabled (skygrid.metrics.enabled).").build());
+            return;
+        }
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            GenerationMetrics.reset();
+            sender.sendMessage(TextUtils.of("<yellow>Metrics reset.").build());
+            return;
+        }
+
+        List<String> lines = GenerationMetrics.report();
+        if (lines.isEmpty()) {
+            sender.sendMessage(TextUtils.of("<gray>No chunks generated since metrics were enabled.").build());
+        }
+        for (String line : lines) sender.sendMessage(TextUtils.of("<gray>" + line).build());
+
+        if (spawners.active()) {
+            sender.sendMessage(TextUtils.of("<gray>Spawners: " + spawners.indexedSpawners() + " in loaded chunks, "
+                    + spawners.trackedMobs() + " mobs tracked, " + spawners.pausedChunks() + " chunks paused").build());
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (args.length == 1) {
+            String prefix = args[0].toLowerCase(Locale.ROOT);
+            return SUBCOMMANDS.stream().filter(s -> s.startsWith(prefix)).toList();
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("pregen")) {
+            SkyGridConfig config = ConfigManager.get();
+            List<String> options = new ArrayList<>(List.of("status", "stop"));
+            if (config != null) options.addAll(config.worlds());
+
+            String prefix = args[1].toLowerCase(Locale.ROOT);
+            return options.stream().filter(s -> s.toLowerCase(Locale.ROOT).startsWith(prefix)).toList();
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("stats")) {
+            return "reset".startsWith(args[1].toLowerCase(Locale.ROOT)) ? List.of("reset") : List.of();
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("pregen") && args[1].equalsIgnoreCase("stop")) {
+            return pregen.tasks().stream().map(t -> t.world().getName()).toList();
+        }
+        return List.of();
+    }
+}
@@ -3,72 +3,316 @@ package br.com.enderfy.enderskygrid.config;
 import br.com.enderfy.enderskygrid.EnderSkyGrid;
 import br.com.enderfy.enderskygrid.model.*;
 import br.com.enderfy.enderskygrid.utils.TextUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.block.Biome;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
 
 public class ConfigManager {
 
-    private static SkyGridConfig skygridConfig;
+    private static final String LOOT_POOLS_FILE = "loot-pools.yml";
+
+    private static final AtomicReference<Snapshot> SNAPSHOT = new AtomicReference<>(new Snapshot(0L, null));
+    private static final Object RELOAD_LOCK = new Object();
+
+    public record Snapshot(long generation, SkyGridConfig config) {}
 
     public static SkyGridConfig get() {
-        return skygridConfig;
+        return SNAPSHOT.get().config();
+    }
+
+    public static Snapshot snapshot() {
+        return SNAPSHOT.get();
+    }
+
+    public static long generation() {
+        return SNAPSHOT.get().generation();
     }
 
     public static void load() {
-        FileConfiguration config = EnderSkyGrid.get().getConfig();
+        EnderSkyGrid plugin = EnderSkyGrid.get();
+        synchronized (RELOAD_LOCK) {
+            set(parse(plugin.getConfig(), plugin.getLogger(), plugin.getDataFolder()));
+        }
+    }
+
+    public static CompletableFuture<Snapshot> reloadAsync() {
+        EnderSkyGrid plugin = EnderSkyGrid.get();
+        File dataFolder = plugin.getDataFolder();
+        Logger logger = plugin.getLogger();
+
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                synchronized (RELOAD_LOCK) {
+                    YamlConfiguration yaml = YamlConfiguration.loadConfiguration(new File(dataFolder, "config.yml"));
+
+                    InputStream defaults = plugin.getResource("config.yml");
+                    if (defaults != null) {
+                        try (Reader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                            yaml.setDefaults(YamlConfiguration.loadConfiguration(reader));
+                        }
+                    }
+
+                    set(parse(yaml, logger, dataFolder));
+                }
+                future.complete(SNAPSHOT.get());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+
+        return future;
+    }
 
+    public static void set(SkyGridConfig config) {
+        SNAPSHOT.updateAndGet(current -> new Snapshot(current.generation() + 1, config));
+    }
+
+    public static SkyGridConfig parse(FileConfiguration config, Logger logger, File dataFolder) {
+        return parse(config, logger, dataFolder, true);
+    }
+
+    public static SkyGridConfig parse(FileConfiguration config, Logger logger, File dataFolder, boolean savePools) {
         List<String> worlds = config.getStringList("skygrid.enabled-worlds");
 
-        WorldSettings overworld = loadWorld(config, "skygrid.overworld", Biome.PLAINS);
-        WorldSettings nether = loadWorld(config, "skygrid.nether", Biome.NETHER_WASTES);
-        WorldSettings end = loadWorld(config, "skygrid.end", Biome.THE_END);
+        WorldSettings overworld = loadWorld(config, "skygrid.overworld", "PLAINS", logger);
+        WorldSettings nether = loadWorld(config, "skygrid.nether", "NETHER_WASTES", logger);
+        WorldSettings end = loadWorld(config, "skygrid.end", "THE_END", logger);
+
+        Map<String, LootTableDef> lootTables = Map.copyOf(loadLootTables(config, "skygrid.loottables", logger));
+        LootPoolRegistry lootPools = loadLootPools(List.of(overworld, nether, end), lootTables, dataFolder, savePools, logger);
+        PregenSettings pregen = loadPregen(config, "skygrid.pregen");
+        MetricsSettings metrics = loadMetrics(config, "skygrid.metrics");
+        SpawnerSettings spawners = loadSpawners(config, "skygrid.spawners");
+        LootPrefetchSettings lootPrefetch = loadLootPrefetch(config, "skygrid.loot-prefetch");
 
-        Map<String, LootTableDef> lootTables = loadLootTables(config, "skygrid.loottables");
+        return new SkyGridConfig(List.copyOf(worlds), overworld, nether, end, lootTables, lootPools, pregen, metrics, spawners, lootPrefetch);
+    }
 
-        skygridConfig = new SkyGridConfig(worlds, overworld, nether, end, lootTables);
+    private static boolean hasServer() {
+        return Bukkit.getServer() != null;
     }
 
-    private static WorldSettings loadWorld(FileConfiguration config, String path, Biome fallbackDefaultBiome) {
+    private static PregenSettings loadPregen(FileConfiguration config, String path) {
+        int maxInFlight = clamp(config.getInt(path + ".max-in-flight", 64), 1, 1024);
+        double targetMspt = Math.max(1.0, config.getDouble(path + ".target-mspt", 40.0));
+        int checkpointSeconds = clamp(config.getInt(path + ".checkpoint-seconds", 30), 1, 3600);
+        int reportSeconds = clamp(config.getInt(path + ".report-seconds", 10), 1, 3600);
+
+        return new PregenSettings(maxInFlight, targetMspt, checkpointSeconds, reportSeconds);
+    }
+
+    private static MetricsSettings loadMetrics(FileConfiguration config, String path) {
+        boolean enabled = config.getBoolean(path + ".enabled", false);
+        String prometheusFile = config.getString(path + ".prometheus-file", "").trim();
+        int dumpSeconds = clamp(config.getInt(path + ".dump-seconds", 15), 1, 3600);
+
+        return new MetricsSettings(enabled, prometheusFile, dumpSeconds);
+    }
+
+    private static SpawnerSettings loadSpawners(FileConfiguration config, String path) {
+        boolean enabled = config.getBoolean(path + ".enabled", false);
+        int maxSpawnsPerTick = clamp(config.getInt(path + ".max-spawns-per-tick", 8), 1, 10_000);
+        int initialDelayMin = clamp(config.getInt(path + ".initial-delay.min", 200), 0, 72_000);
+        int initialDelayMax = clamp(config.getInt(path + ".initial-delay.max", 800), initialDelayMin, 72_000);
+        int maxChunkEntities = clamp(config.getInt(path + ".max-chunk-entities", 24), 1, 10_000);
+        int checkIntervalTicks = clamp(config.getInt(path + ".check-interval-ticks", 40), 1, 1200);
+        int backoffTicks = clamp(config.getInt(path + ".backoff-ticks", 100), 1, 72_000);
+
+        return new SpawnerSettings(enabled, maxSpawnsPerTick, initialDelayMin, initialDelayMax, maxChunkEntities, checkIntervalTicks, backoffTicks);
+    }
+
+    private static LootPrefetchSettings loadLootPrefetch(FileConfiguration config, String path) {
+        boolean enabled = config.getBoolean(path + ".enabled", false);
+        int radius = clamp(config.getInt(path + ".radius", 6), 1, 32);
+        int intervalTicks = clamp(config.getInt(path + ".interval-ticks", 10), 1, 1200);
+
+        return new LootPrefetchSettings(enabled, radius, intervalTicks);
+    }
+
+    private static LootPoolRegistry loadLootPools(List<WorldSettings> settings, Map<String, LootTableDef> lootTables, File dataFolder, boolean save, Logger logger) {
+        File file = (dataFolder == null) ? null : new File(dataFolder, LOOT_POOLS_FILE);
+        YamlConfiguration yaml = (file == null) ? new YamlConfiguration() : YamlConfiguration.loadConfiguration(file);
+
+        int version = yaml.getInt("version", 0);
+        List<List<String>> pools = new ArrayList<>();
+
+        ConfigurationSection section = yaml.getConfigurationSection("pools");
+        if (section != null) {
+            for (int id = 0; section.isList(String.valueOf(id)); id++) {
+                pools.add(List.copyOf(section.getStringList(String.valueOf(id))));
+            }
+        }
+
+        Set<List<String>> referenced = new LinkedHashSet<>();
+        referenced.add(List.of("overworld"));
+        referenced.add(List.of("nether"));
+        referenced.add(List.of("end"));
+
+        for (WorldSettings world : settings) {
+            referencePools(world.palettes(), referenced);
+            for (GridLayer layer : world.layers()) referencePools(layer.palettes(), referenced);
+        }
+
+        Set<List<String>> known = new HashSet<>(pools);
+        boolean changed = false;
+        for (List<String> pool : referenced) {
+            if (known.add(pool)) {
+                pools.add(pool);
+                changed = true;
+            }
+        }
+
+        if (changed && file != null) {
+            version++;
+        }
+
+        if (changed && file != null && save) {
+            yaml.set("version", version);
+            for (int id = 0; id < pools.size(); id++) yaml.set("pools." + id, pools.get(id));
+
+            try {
+                yaml.save(file);
+            } catch (IOException ex) {
+                logger.warning("[EnderSkyGrid] Could not save " + LOOT_POOLS_FILE + ": " + ex.getMessage());
+            }
+        }
+
+        return new LootPoolRegistry(version, pools, lootTables);
+    }
+
+    private static void referencePools(BiomePalettes palettes, Set<List<String>> referenced) {
+        for (GridPalette palette : palettes.byName().values()) {
+            for (GridEntry e : palette.entries()) {
+                if (e.isChest() && !e.lootTables().isEmpty()) referenced.add(List.copyOf(e.lootTables()));
+            }
+        }
+    }
+
+    private static WorldSettings loadWorld(FileConfiguration config, String path, String fallbackDefaultBiome, Logger logger) {
         int spacing = clamp(config.getInt(path + ".spacing", 4), 1, 128);
         int minY = config.getInt(path + ".min-y", -64);
         int maxY = config.getInt(path + ".max-y", 100);
+        boolean legacyRandom = config.getBoolean(path + ".legacy-random", true);
+        boolean fixedSpawn = config.getBoolean(path + ".fixed-spawn", false);
+
+        boolean server = hasServer();
+
+        String defaultBiome = config.getString(path + ".default-biome", fallbackDefaultBiome).toUpperCase(Locale.ROOT);
+        if (server && tryGetBiome(defaultBiome) == null) defaultBiome = fallbackDefaultBiome;
+
+        BiomePalettes palettes = loadPalettes(config, path + ".biomes-material", defaultBiome, server, logger);
+        if (palettes == null) {
+            logger.warning("[EnderSkyGrid] Biomes keys empty at " + path + ".biomes-material");
+            palettes = new BiomePalettes(Map.of(), Map.of(), defaultBiome);
+        }
+
+        TileCaps tileCaps = new TileCaps(
+                Math.max(-1, config.getInt(path + ".tile-caps.chests-per-chunk", -1)),
+                Math.max(-1, config.getInt(path + ".tile-caps.spawners-per-chunk", -1)),
+                Math.max(-1, config.getInt(path + ".tile-caps.chests-per-region", -1)),
+                Math.max(-1, config.getInt(path + ".tile-caps.spawners-per-region", -1))
+        );
+
+        BiomeCells biomeCells = new BiomeCells(
+                config.getBoolean(path + ".biome-provider.enabled", false),
+                clamp(config.getInt(path + ".biome-provider.cell-size", 96), 4, 4096)
+        );
+
+        List<GridLayer> layers = loadLayers(config, path + ".layers", defaultBiome, palettes, server, logger);
+        if (layers.isEmpty()) layers = List.of(new GridLayer("default", spacing, minY, maxY, palettes, null));
+
+        return new WorldSettings(spacing, minY, maxY, legacyRandom, defaultBiome, palettes, tileCaps, layers, biomeCells, fixedSpawn);
+    }
 
-        Biome defaultBiome = tryGetBiome(config.getString(path + ".default-biome", fallbackDefaultBiome.name()));
-        if (defaultBiome == null) defaultBiome = fallbackDefaultBiome;
+    private static List<GridLayer> loadLayers(FileConfiguration config, String path, String defaultBiome, BiomePalettes worldPalettes, boolean server, Logger logger) {
+        ConfigurationSection section = config.getConfigurationSection(path);
+        if (section == null) return List.of();
+
+        List<GridLayer> layers = new ArrayList<>();
+
+        for (String name : section.getKeys(false)) {
+            String layerPath = path + "." + name;
+
+            int spacing = clamp(config.getInt(layerPath + ".spacing", 4), 1, 128);
+            int minY = config.getInt(layerPath + ".min-y", -64);
+            int maxY = config.getInt(layerPath + ".max-y", 100);
+            if (minY > maxY) {
+                logger.warning("[EnderSkyGrid] Layer " + layerPath + " has min-y above max-y, skipping");
+                continue;
+            }
 
-        Map<Biome, List<GridEntry>> byBiome = new HashMap<>();
+            BiomePalettes palettes = worldPalettes;
+            if (config.isConfigurationSection(layerPath + ".biomes-material")) {
+                BiomePalettes override = loadPalettes(config, layerPath + ".biomes-material", defaultBiome, server, logger);
+                if (override != null) palettes = override;
+                else logger.warning("[EnderSkyGrid] Biomes keys empty at " + layerPath + ".biomes-material, using the world palettes");
+            }
+
+            NoiseMask noise = null;
+            if (config.isConfigurationSection(layerPath + ".noise")) {
+                int scale = clamp(config.getInt(layerPath + ".noise.scale", 16), 1, 256);
+                double density = Math.max(0.0, Math.min(1.0, config.getDouble(layerPath + ".noise.density", 0.5)));
+                noise = new NoiseMask(scale, density);
+            }
+
+            for (GridLayer other : layers) {
+                if (minY <= other.maxY() && other.minY() <= maxY) {
+                    logger.warning("[EnderSkyGrid] Layer " + layerPath + " overlaps layer " + other.name() + ", later layers overwrite earlier ones");
+                }
+            }
 
-        ConfigurationSection section = config.getConfigurationSection(path + ".biomes-material");
+            layers.add(new GridLayer(name, spacing, minY, maxY, palettes, noise));
+        }
+        return List.copyOf(layers);
+    }
+
+    private static BiomePalettes loadPalettes(FileConfiguration config, String path, String defaultBiome, boolean server, Logger logger) {
+        Map<String, GridPalette> byName = new HashMap<>();
+        Map<Biome, GridPalette> byBiome = new HashMap<>();
+
+        ConfigurationSection section = config.getConfigurationSection(path);
         if (section != null) {
             for (String rawBiome : section.getKeys(false)) {
-                Biome biome = tryGetBiome(rawBiome);
-                if (biome == null) {
-                    EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Invalid biome key: " + rawBiome + " at " + path + ".biomes-material");
+                Biome biome = server ? tryGetBiome(rawBiome) : null;
+                if (server && biome == null) {
+                    logger.warning("[EnderSkyGrid] Invalid biome key: " + rawBiome + " at " + path);
                     continue;
                 }
 
-                List<Map<?, ?>> list = config.getMapList(path + ".biomes-material." + rawBiome);
-                List<GridEntry> entries = loadGridEntriesSafe(list, path + ".biomes-material." + rawBiome);
-                if (!entries.isEmpty()) byBiome.put(biome, entries);
+                List<Map<?, ?>> list = config.getMapList(path + "." + rawBiome);
+                List<GridEntry> entries = loadGridEntriesSafe(list, path + "." + rawBiome, logger);
+                if (entries.isEmpty()) continue;
+
+                GridPalette palette = GridPalette.compile(entries, server);
+                byName.put(rawBiome.toUpperCase(Locale.ROOT), palette);
+                if (biome != null) byBiome.put(biome, palette);
             }
         }
 
-        if (byBiome.isEmpty()) {
-            EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Biomes keys empty at " + path + ".biomes-material");
-        }
+        return byName.isEmpty() ? null : new BiomePalettes(byName, byBiome, defaultBiome);
+    }
 
-        return new WorldSettings(spacing, minY, maxY, defaultBiome, byBiome);
+    public static List<GridEntry> gridEntries(FileConfiguration config, String path, Logger logger) {
+        return loadGridEntriesSafe(config.getMapList(path), path, logger);
     }
 
-    private static List<GridEntry> loadGridEntriesSafe(List<Map<?, ?>> raw, String path) {
+    private static List<GridEntry> loadGridEntriesSafe(List<Map<?, ?>> raw, String path, Logger logger) {
         List<GridEntry> out = new ArrayList<>();
         if (raw == null || raw.isEmpty()) return out;
 
@@ -78,7 +322,7 @@ public class ConfigManager {
             Material material = Material.matchMaterial(rawMat);
 
             if (material == null || material.isAir() || !material.isBlock()) {
-                EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Invalid block material: " + rawMat + " at " + path);
+                logger.warning("[EnderSkyGrid] Invalid block material: " + rawMat + " at " + path);
                 continue;
             }
 
@@ -86,7 +330,7 @@ public class ConfigManager {
             if (weight <= 0) continue;
 
             List<String> lootTables = toStringList(mat.get("loot-tables"));
-            Map<EntityType, Integer> mobs = parseMobWeights(toStringList(mat.get("mobs")), path);
+            Map<EntityType, Integer> mobs = parseMobWeights(toStringList(mat.get("mobs")), path, logger);
 
             out.add(new GridEntry(material, weight, lootTables, mobs));
         }
@@ -94,7 +338,7 @@ public class ConfigManager {
         return List.copyOf(out);
     }
 
-    private static Map<String, LootTableDef> loadLootTables(FileConfiguration config, String path) {
+    private static Map<String, LootTableDef> loadLootTables(FileConfiguration config, String path, Logger logger) {
         Map<String, LootTableDef> out = new HashMap<>();
 
         ConfigurationSection section = config.getConfigurationSection(path);
@@ -104,7 +348,7 @@ public class ConfigManager {
             String p = path + "." + key;
 
             int tableWeight = clamp(config.getInt(p + ".weight", 1), 0, 1_000_000);
-            LootTable loot = loadLootTable(config, p);
+            LootTable loot = loadLootTable(config, p, logger);
 
             out.put(key, new LootTableDef(tableWeight, loot));
         }
@@ -112,7 +356,7 @@ public class ConfigManager {
         return Map.copyOf(out);
     }
 
-    private static LootTable loadLootTable(FileConfiguration config, String path) {
+    private static LootTable loadLootTable(FileConfiguration config, String path, Logger logger) {
         int minRolls = clamp(config.getInt(path + ".rolls.min", 1), 0, 64);
         int maxRolls = clamp(config.getInt(path + ".rolls.max", minRolls), minRolls, 64);
 
@@ -127,7 +371,7 @@ public class ConfigManager {
 
             Material material = Material.matchMaterial(rawMat);
             if (material == null || material.isAir() || !material.isItem()) {
-                EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Invalid loot material: " + rawMat + " at " + path);
+                logger.warning("[EnderSkyGrid] Invalid loot material: " + rawMat + " at " + path);
                 continue;
             }
 
@@ -146,6 +390,11 @@ public class ConfigManager {
                 maxAmount = fixed;
             }
 
+            if (!hasServer()) {
+                entries.add(new LootEntry(material, null, weight, minAmount, maxAmount));
+                continue;
+            }
+
             ItemStack item = new ItemStack(material, 1);
             ItemMeta meta = item.getItemMeta();
 
@@ -173,13 +422,13 @@ public class ConfigManager {
                 item.setItemMeta(meta);
             }
 
-            entries.add(new LootEntry(item, weight, minAmount, maxAmount));
+            entries.add(new LootEntry(material, item, weight, minAmount, maxAmount));
         }
 
         return new LootTable(minRolls, maxRolls, entries);
     }
 
-    private static Map<EntityType, Integer> parseMobWeights(List<String> raw, String path) {
+    private static Map<EntityType, Integer> parseMobWeights(List<String> raw, String path, Logger logger) {
         Map<EntityType, Integer> mobs = new HashMap<>();
         if (raw == null) return mobs;
 
@@ -193,7 +442,7 @@ public class ConfigManager {
             try {
                 type = EntityType.valueOf(rawType.toUpperCase(Locale.ROOT));
             } catch (IllegalArgumentException ex) {
-                EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Invalid mob type: " + rawType + " at " + path);
+                logger.warning("[EnderSkyGrid] Invalid mob type: " + rawType + " at " + path);
                 continue;
             }
 
@@ -0,0 +1,386 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ChestIndex implements Listener {
+
+    public static final int NONE = Integer.MIN_VALUE;
+    public static final int LEGACY = -1;
+
+    private static final int MAX_OPEN_REGIONS = 128;
+
+    private record RegionKey(String world, int regionX, int regionZ) {}
+
+    private final Map<RegionKey, Region> regions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RegionKey, Region> eldest) {
+            if (size() <= MAX_OPEN_REGIONS) return false;
+            eldest.getValue().close();
+            return true;
+        }
+    };
+
+    public void add(String world, int x, int y, int z, int poolId) {
+        Region region;
+        do region = region(world, x >> 4, z >> 4, true);
+        while (!region.add(chunkIndex(x >> 4, z >> 4), localKey(x, y, z), poolId));
+    }
+
+    public int probe(String world, int x, int y, int z) {
+        Region region = region(world, x >> 4, z >> 4, false);
+        return (region == null) ? NONE : region.find(chunkIndex(x >> 4, z >> 4), localKey(x, y, z));
+    }
+
+    public void remove(String world, int x, int y, int z) {
+        Region region;
+        do region = region(world, x >> 4, z >> 4, false);
+        while (region != null && !region.remove(chunkIndex(x >> 4, z >> 4), localKey(x, y, z)));
+    }
+
+    public void markIndexed(String world, int chunkX, int chunkZ) {
+        Region region;
+        do region = region(world, chunkX, chunkZ, true);
+        while (!region.markIndexed(chunkIndex(chunkX, chunkZ)));
+    }
+
+    public boolean indexed(String world, int chunkX, int chunkZ) {
+        Region region = region(world, chunkX, chunkZ, false);
+        return region != null && region.indexed(chunkIndex(chunkX, chunkZ));
+    }
+
+    public void forEach(String world, int chunkX, int chunkZ, Visitor visitor) {
+        Region region = region(world, chunkX, chunkZ, false);
+        if (region != null) region.forEach(chunkIndex(chunkX, chunkZ), chunkX << 4, chunkZ << 4, visitor);
+    }
+
+    public void close(String world) {
+        synchronized (regions) {
+            Iterator<Map.Entry<RegionKey, Region>> it = regions.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<RegionKey, Region> e = it.next();
+                if (!e.getKey().world().equals(world)) continue;
+
+                e.getValue().close();
+                it.remove();
+            }
+        }
+    }
+
+    public void closeAll() {
+        synchronized (regions) {
+            for (Region region : regions.values()) region.close();
+            regions.clear();
+        }
+    }
+
+    public void apply(SkyGridConfig config) {
+        for (World world : Bukkit.getWorlds()) {
+            if (!config.worlds().contains(world.getName())) continue;
+            for (Chunk chunk : world.getLoadedChunks()) index(chunk);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        SkyGridConfig config = ConfigManager.get();
+        if (config == null || !config.worlds().contains(event.getWorld().getName())) return;
+
+        index(event.getChunk());
+    }
+
+    private void index(Chunk chunk) {
+        String world = chunk.getWorld().getName();
+        if (indexed(world, chunk.getX(), chunk.getZ())) return;
+
+        for (BlockState state : chunk.getTileEntities(block -> block.getType() == Material.CHEST, false)) {
+            if (!(state instanceof Chest chest)) continue;
+
+            PersistentDataContainer pdc = chest.getPersistentDataContainer();
+            Integer poolId = pdc.get(SkyGridKeys.CHEST_POOL_ID, PersistentDataType.INTEGER);
+
+            if (poolId != null) add(world, chest.getX(), chest.getY(), chest.getZ(), poolId);
+            else if (pdc.has(SkyGridKeys.CHEST_PENDING)) add(world, chest.getX(), chest.getY(), chest.getZ(), LEGACY);
+        }
+        markIndexed(world, chunk.getX(), chunk.getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        close(event.getWorld().getName());
+    }
+
+    private Region region(String world, int chunkX, int chunkZ, boolean create) {
+        RegionKey key = new RegionKey(world, chunkX >> 5, chunkZ >> 5);
+
+        synchronized (regions) {
+            Region region = regions.get(key);
+            if (region != null) return region;
+
+            Path file = regionFile(world, key.regionX(), key.regionZ());
+            if (!create && !Files.isRegularFile(file)) return null;
+
+            region = Region.open(file);
+            regions.put(key, region);
+            return region;
+        }
+    }
+
+    private static Path regionFile(String world, int regionX, int regionZ) {
+        File folder = new File(new File(new File(Bukkit.getWorldContainer(), world), "enderskygrid"), "chests");
+        return new File(folder, "r." + regionX + "." + regionZ + ".sgc").toPath();
+    }
+
+    private static int chunkIndex(int chunkX, int chunkZ) {
+        return ((chunkZ & 31) << 5) | (chunkX & 31);
+    }
+
+    private static int localKey(int x, int y, int z) {
+        return (((y + 2048) & 0xFFF) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(int x, int y, int z, int poolId);
+    }
+
+    private static final class Region {
+
+        private static final int MAGIC = 0x53474349;
+        private static final int VERSION = 1;
+        private static final int HEADER = 16 + 128;
+        private static final int RECORD = 8;
+        private static final int INITIAL_RECORDS = 64;
+        private static final int TOMBSTONE = Integer.MIN_VALUE;
+
+        private final long[] indexed = new long[16];
+        private final Slots[] chunks = new Slots[1024];
+
+        private FileChannel channel;
+        private MappedByteBuffer map;
+        private int records;
+        private boolean closed;
+
+        static Region open(Path file) {
+            Region region = new Region();
+
+            try {
+                Files.createDirectories(file.getParent());
+                region.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+                long size = region.channel.size();
+                region.map = region.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, HEADER + (long) INITIAL_RECORDS * RECORD));
+
+                if (size >= HEADER && region.map.getInt(0) == MAGIC && region.map.getInt(4) == VERSION) region.read();
+                else region.writeHeader();
+            } catch (IOException ex) {
+                EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Could not open chest index " + file + ": " + ex.getMessage());
+                region.release();
+            }
+            return region;
+        }
+
+        private void read() {
+            int stored = Math.min(map.getInt(8), (map.capacity() - HEADER) / RECORD);
+            for (int i = 0; i < 16; i++) indexed[i] = map.getLong(16 + i * 8);
+
+            int live = 0;
+            for (int i = 0; i < stored; i++) {
+                int key = map.getInt(HEADER + i * RECORD);
+                int poolId = map.getInt(HEADER + i * RECORD + 4);
+                if (poolId == TOMBSTONE) continue;
+
+                chunk(key >>> 20).put(key & 0xFFFFF, poolId, live++);
+            }
+
+            records = live;
+            if (live == stored) return;
+
+            for (int c = 0; c < chunks.length; c++) {
+                Slots chunk = chunks[c];
+                if (chunk == null) continue;
+
+                for (int i = 0; i < chunk.size; i++) writeRecord(chunk.records[i], (c << 20) | chunk.keys[i], chunk.pools[i]);
+            }
+            map.putInt(8, records);
+        }
+
+        private void writeHeader() {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putInt(8, 0);
+            map.putInt(12, 0);
+            for (int i = 0; i < 16; i++) map.putLong(16 + i * 8, 0L);
+        }
+
+        synchronized boolean add(int chunkIndex, int key, int poolId) {
+            if (closed) return false;
+            Slots chunk = chunk(chunkIndex);
+
+            int existing = chunk.find(key);
+            if (existing >= 0) {
+                chunk.pools[existing] = poolId;
+                writeRecord(chunk.records[existing], (chunkIndex << 20) | key, poolId);
+                return true;
+            }
+
+            int record = records++;
+            chunk.put(key, poolId, record);
+            writeRecord(record, (chunkIndex << 20) | key, poolId);
+            if (map != null) map.putInt(8, records);
+            return true;
+        }
+
+        synchronized int find(int chunkIndex, int key) {
+            Slots chunk = chunks[chunkIndex];
+            if (chunk == null) return NONE;
+
+            int at = chunk.find(key);
+            return (at < 0) ? NONE : chunk.pools[at];
+        }
+
+        synchronized boolean remove(int chunkIndex, int key) {
+            if (closed) return false;
+            Slots chunk = chunks[chunkIndex];
+            if (chunk == null) return true;
+
+            int at = chunk.find(key);
+            if (at < 0) return true;
+
+            writeRecord(chunk.records[at], (chunkIndex << 20) | key, TOMBSTONE);
+            chunk.removeAt(at);
+            if (chunk.size == 0) chunks[chunkIndex] = null;
+            return true;
+        }
+
+        synchronized boolean markIndexed(int chunkIndex) {
+            if (closed) return false;
+            indexed[chunkIndex >> 6] |= 1L << chunkIndex;
+            if (map != null) map.putLong(16 + (chunkIndex >> 6) * 8, indexed[chunkIndex >> 6]);
+            return true;
+        }
+
+        synchronized boolean indexed(int chunkIndex) {
+            return (indexed[chunkIndex >> 6] & (1L << chunkIndex)) != 0;
+        }
+
+        synchronized void forEach(int chunkIndex, int baseX, int baseZ, Visitor visitor) {
+            Slots chunk = chunks[chunkIndex];
+            if (chunk == null) return;
+
+            for (int i = 0; i < chunk.size; i++) {
+                int key = chunk.keys[i];
+                visitor.accept(baseX + (key & 15), ((key >>> 8) & 0xFFF) - 2048, baseZ + ((key >>> 4) & 15), chunk.pools[i]);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            release();
+        }
+
+        private void release() {
+            if (map != null) map.force();
+            map = null;
+
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+
+        private Slots chunk(int chunkIndex) {
+            Slots chunk = chunks[chunkIndex];
+            if (chunk == null) {
+                chunk = new Slots();
+                chunks[chunkIndex] = chunk;
+            }
+            return chunk;
+        }
+
+        private void writeRecord(int record, int key, int poolId) {
+            if (map == null) return;
+
+            long offset = HEADER + (long) record * RECORD;
+            if (offset + RECORD > map.capacity()) grow(offset + RECORD);
+            if (map == null) return;
+
+            map.putInt((int) offset, key);
+            map.putInt((int) offset + 4, poolId);
+        }
+
+        private void grow(long needed) {
+            try {
+                long capacity = map.capacity();
+                while (capacity < needed) capacity <<= 1;
+
+                map.force();
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException ex) {
+                EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Could not grow chest index: " + ex.getMessage());
+                release();
+            }
+        }
+
+        private static final class Slots {
+            private int[] keys = new int[4];
+            private int[] pools = new int[4];
+            private int[] records = new int[4];
+            private int size;
+
+            int find(int key) {
+                for (int i = 0; i < size; i++) {
+                    if (keys[i] == key) return i;
+                }
+                return -1;
+            }
+
+            void put(int key, int poolId, int record) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size << 1);
+                    pools = Arrays.copyOf(pools, size << 1);
+                    records = Arrays.copyOf(records, size << 1);
+                }
+                keys[size] = key;
+                pools[size] = poolId;
+                records[size] = record;
+                size++;
+            }
+
+            void removeAt(int at) {
+                size--;
+                keys[at] = keys[size];
+                pools[at] = pools[size];
+                records[at] = records[size];
+            }
+        }
+    }
+}
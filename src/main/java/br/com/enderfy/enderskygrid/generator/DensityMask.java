@@ -0,0 +1,146 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.GridLayout;
+import br.com.enderfy.enderskygrid.model.NoiseMask;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class DensityMask {
+
+    private static final int QUANTILES = 1024;
+    private static final Map<Integer, double[]> THRESHOLDS = new ConcurrentHashMap<>();
+
+    private DensityMask() {}
+
+    public static long[] sample(NoiseMask noise, long seed, int layer, int chunkX, int chunkZ, int[] cells) {
+        final int scale = noise.scale();
+        final long salt = seed ^ GridRandom.NOISE_SALT ^ (layer * 0x9E3779B97F4A7C15L);
+        final int baseX = chunkX << 4;
+        final int baseZ = chunkZ << 4;
+
+        final int latticeX = Math.floorDiv(baseX, scale);
+        final int latticeZ = Math.floorDiv(baseZ, scale);
+        final int latticeY = Math.floorDiv(GridLayout.y(cells[0]), scale);
+        final int rows = Math.floorDiv(GridLayout.y(cells[cells.length - 1]), scale) - latticeY + 2;
+        final int spanX = Math.floorDiv(baseX + 15, scale) - latticeX + 2;
+        final int spanZ = Math.floorDiv(baseZ + 15, scale) - latticeZ + 2;
+
+        final double[] lattice = new double[spanX * spanZ * rows];
+        for (int ix = 0; ix < spanX; ix++) {
+            for (int iz = 0; iz < spanZ; iz++) {
+                int at = (ix * spanZ + iz) * rows;
+                for (int row = 0; row < rows; row++) {
+                    lattice[at + row] = GridRandom.toDouble(GridRandom.hash(salt, latticeX + ix, latticeY + row, latticeZ + iz));
+                }
+            }
+        }
+
+        final double threshold = threshold(scale, noise.density());
+        final double[] column = new double[rows];
+        final long[] mask = new long[(cells.length + 63) >> 6];
+        int current = -1;
+
+        for (int i = 0; i < cells.length; i++) {
+            final int cell = cells[i];
+
+            if (GridLayout.column(cell) != current) {
+                current = GridLayout.column(cell);
+
+                int wx = baseX + GridLayout.x(cell);
+                int wz = baseZ + GridLayout.z(cell);
+                int cx = Math.floorDiv(wx, scale);
+                int cz = Math.floorDiv(wz, scale);
+                double tx = fade((wx - cx * scale) / (double) scale);
+                double tz = fade((wz - cz * scale) / (double) scale);
+
+                int c00 = ((cx - latticeX) * spanZ + (cz - latticeZ)) * rows;
+                int c10 = c00 + spanZ * rows;
+                int c01 = c00 + rows;
+                int c11 = c10 + rows;
+
+                for (int row = 0; row < rows; row++) {
+                    column[row] = lerp(tz,
+                            lerp(tx, lattice[c00 + row], lattice[c10 + row]),
+                            lerp(tx, lattice[c01 + row], lattice[c11 + row]));
+                }
+            }
+
+            int y = GridLayout.y(cell);
+            int cy = Math.floorDiv(y, scale);
+            double ty = fade((y - cy * scale) / (double) scale);
+            int row = cy - latticeY;
+
+            if (lerp(ty, column[row], column[row + 1]) < threshold) mask[i >> 6] |= 1L << i;
+        }
+        return mask;
+    }
+
+    public static boolean kept(long[] mask, int index) {
+        return (mask[index >> 6] & (1L << index)) != 0;
+    }
+
+    public static boolean kept(NoiseMask noise, long seed, int layer, int x, int y, int z) {
+        long salt = seed ^ GridRandom.NOISE_SALT ^ (layer * 0x9E3779B97F4A7C15L);
+        return value(salt, noise.scale(), x, y, z) < threshold(noise.scale(), noise.density());
+    }
+
+    static double threshold(int scale, double density) {
+        if (density <= 0.0) return 0.0;
+        if (density >= 1.0) return 1.0;
+
+        double[] quantiles = THRESHOLDS.computeIfAbsent(scale, DensityMask::quantiles);
+        return quantiles[(int) Math.round(density * QUANTILES)];
+    }
+
+    private static double[] quantiles(int scale) {
+        int span = 64;
+        double[] samples = new double[span * span * span];
+        int i = 0;
+
+        for (int x = 0; x < span; x++) {
+            for (int y = 0; y < span; y++) {
+                for (int z = 0; z < span; z++) samples[i++] = value(GridRandom.NOISE_SALT, scale, x * 7 + 3, y * 5 + 1, z * 3 + 2);
+            }
+        }
+        Arrays.sort(samples);
+
+        double[] quantiles = new double[QUANTILES + 1];
+        for (int q = 0; q <= QUANTILES; q++) {
+            quantiles[q] = samples[Math.min(samples.length - 1, (int) ((long) q * samples.length / QUANTILES))];
+        }
+        quantiles[0] = 0.0;
+        quantiles[QUANTILES] = 1.0;
+        return quantiles;
+    }
+
+    private static double value(long salt, int scale, int x, int y, int z) {
+        int cx = Math.floorDiv(x, scale);
+        int cy = Math.floorDiv(y, scale);
+        int cz = Math.floorDiv(z, scale);
+        double tx = fade((x - cx * scale) / (double) scale);
+        double ty = fade((y - cy * scale) / (double) scale);
+        double tz = fade((z - cz * scale) / (double) scale);
+
+        double low = lerp(tz,
+                lerp(tx, lattice(salt, cx, cy, cz), lattice(salt, cx + 1, cy, cz)),
+                lerp(tx, lattice(salt, cx, cy, cz + 1), lattice(salt, cx + 1, cy, cz + 1)));
+        double high = lerp(tz,
+                lerp(tx, lattice(salt, cx, cy + 1, cz), lattice(salt, cx + 1, cy + 1, cz)),
+                lerp(tx, lattice(salt, cx, cy + 1, cz + 1), lattice(salt, cx + 1, cy + 1, cz + 1)));
+        return lerp(ty, low, high);
+    }
+
+    private static double lattice(long salt, int x, int y, int z) {
+        return GridRandom.toDouble(GridRandom.hash(salt, x, y, z));
+    }
+
+    private static double fade(double t) {
+        return t * t * (3.0 - 2.0 * t);
+    }
+
+    private static double lerp(double t, double a, double b) {
+        return a + t * (b - a);
+    }
+}
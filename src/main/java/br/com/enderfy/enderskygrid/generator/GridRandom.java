@@ -0,0 +1,66 @@
+package br.com.enderfy.enderskygrid.generator;
+
+public final class GridRandom {
+
+    public static final long CHEST_SALT = 0x43484553545F5345L;
+    public static final long SPAWNER_SALT = 0x535041574E45525FL;
+    public static final long SPAWNER_DELAY_SALT = 0x44454C41595F5350L;
+    public static final long REROLL_SALT = 0x5245524F4C4C5F5FL;
+    public static final long SPAWNER_CAP_SALT = 0x5350574E5F434150L;
+    public static final long REGION_CAP_SALT = 0x524547494F4E5F43L;
+    public static final long NOISE_SALT = 0x4E4F4953455F4D41L;
+    public static final long BIOME_SALT = 0x42494F4D455F4345L;
+
+    private static final long LCG_MULTIPLIER = 0x5DEECE66DL;
+    private static final long LCG_ADDEND = 0xBL;
+    private static final long LCG_MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private GridRandom() {}
+
+    public static long legacySeed(long seed, int x, int y, int z) {
+        long s = seed;
+        s ^= (x * 341873128712L);
+        s ^= (z * 132897987541L);
+        s ^= (y * 42317861L);
+        return s;
+    }
+
+    public static double legacyDouble(long seed, int x, int y, int z) {
+        long state = (legacySeed(seed, x, y, z) ^ LCG_MULTIPLIER) & LCG_MASK;
+
+        state = (state * LCG_MULTIPLIER + LCG_ADDEND) & LCG_MASK;
+        long hi = state >>> (48 - 26);
+
+        state = (state * LCG_MULTIPLIER + LCG_ADDEND) & LCG_MASK;
+        long lo = state >>> (48 - 27);
+
+        return ((hi << 27) + lo) * DOUBLE_UNIT;
+    }
+
+    public static double cellRoll(boolean legacyRandom, long seed, int x, int y, int z) {
+        return legacyRandom ? legacyDouble(seed, x, y, z) : toDouble(hash(seed, x, y, z));
+    }
+
+    public static long hash(long seed, int x, int y, int z) {
+        long h = seed
+                + x * 0x9E3779B97F4A7C15L
+                + y * 0xC2B2AE3D27D4EB4FL
+                + z * 0x165667B19E3779F9L;
+        return mix64(mix64(h) ^ seed);
+    }
+
+    public static double toDouble(long hash) {
+        return (hash >>> 11) * DOUBLE_UNIT;
+    }
+
+    public static int toInt(long hash, int bound) {
+        return (int) (((hash >>> 32) * bound) >>> 32);
+    }
+
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
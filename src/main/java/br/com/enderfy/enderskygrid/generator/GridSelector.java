@@ -0,0 +1,109 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.*;
+
+import java.util.List;
+
+public final class GridSelector {
+
+    @FunctionalInterface
+    public interface PaletteResolver {
+        GridPalette palette(BiomePalettes palettes, int x, int y, int z);
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        void place(int x, int y, int z, GridPalette palette, int index);
+    }
+
+    private GridSelector() {}
+
+    public static int chunk(
+            WorldSettings settings,
+            long seed,
+            int chunkX,
+            int chunkZ,
+            int minHeight,
+            int maxHeight,
+            TileBudget budget,
+            PaletteResolver resolver,
+            Sink sink
+    ) {
+        final int baseX = chunkX << 4;
+        final int baseZ = chunkZ << 4;
+        final List<GridLayer> layers = settings.layers();
+        int placed = 0;
+
+        for (int l = 0; l < layers.size(); l++) {
+            final GridLayer layer = layers.get(l);
+
+            final int[] cells = layer.layout().cells(chunkX, chunkZ, minHeight, maxHeight);
+            if (cells.length == 0) continue;
+
+            final long[] mask = (layer.noise() == null) ? null : DensityMask.sample(layer.noise(), seed, l, chunkX, chunkZ, cells);
+            final boolean overwrite = l > 0;
+            final int quartBase = GridLayout.y(cells[0]) >> 2;
+            final GridPalette[] quarts = new GridPalette[((GridLayout.y(cells[cells.length - 1]) >> 2) - quartBase + 1) << 4];
+
+            for (int i = 0; i < cells.length; i++) {
+                if (mask != null && !DensityMask.kept(mask, i)) continue;
+
+                final int cell = cells[i];
+                final int x = GridLayout.x(cell);
+                final int y = GridLayout.y(cell);
+                final int z = GridLayout.z(cell);
+                final int quart = (((y >> 2) - quartBase) << 4) | ((z >> 2) << 2) | (x >> 2);
+
+                GridPalette palette = quarts[quart];
+                if (palette == null) {
+                    palette = resolver.palette(layer.palettes(), baseX + (x & ~3), y & ~3, baseZ + (z & ~3));
+                    quarts[quart] = palette;
+                }
+
+                final int wx = baseX + x;
+                final int wz = baseZ + z;
+
+                int index = pick(settings, seed, palette, wx, y, wz);
+                if (index >= 0 && budget != null) index = budget.admit(palette, index, wx, y, wz, overwrite);
+                if (index < 0) continue;
+
+                placed++;
+                sink.place(wx, y, wz, palette, index);
+            }
+        }
+        return placed;
+    }
+
+    public static boolean point(
+            WorldSettings settings,
+            long seed,
+            int x,
+            int y,
+            int z,
+            int minHeight,
+            int maxHeight,
+            PaletteResolver resolver,
+            Sink sink
+    ) {
+        final List<GridLayer> layers = settings.layers();
+
+        for (int l = layers.size() - 1; l >= 0; l--) {
+            final GridLayer layer = layers.get(l);
+            if (!layer.layout().contains(x, y, z, minHeight, maxHeight)) continue;
+            if (layer.noise() != null && !DensityMask.kept(layer.noise(), seed, l, x, y, z)) continue;
+
+            GridPalette palette = resolver.palette(layer.palettes(), x & ~3, y & ~3, z & ~3);
+            int index = pick(settings, seed, palette, x, y, z);
+            if (index < 0) continue;
+
+            sink.place(x, y, z, palette, index);
+            return true;
+        }
+        return false;
+    }
+
+    private static int pick(WorldSettings settings, long seed, GridPalette palette, int x, int y, int z) {
+        if (palette.isEmpty()) return -1;
+        return palette.pickIndex(GridRandom.cellRoll(settings.legacyRandom(), seed, x, y, z));
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.model.LootPoolPlan;
+import br.com.enderfy.enderskygrid.model.LootPrefetchSettings;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class LootPrefetcher implements Listener {
+
+    static final int CHEST_SLOTS = 27;
+
+    private final ChestIndex chestIndex;
+    private final SkyGridGenerators generators;
+    private final Map<UUID, Map<Long, CompletableFuture<LootRoll>>> prefetched = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+    private BukkitTask ticker;
+
+    public LootPrefetcher(ChestIndex chestIndex, SkyGridGenerators generators) {
+        this.chestIndex = chestIndex;
+        this.generators = generators;
+    }
+
+    public void apply(SkyGridConfig config) {
+        LootPrefetchSettings settings = (config == null) ? null : config.lootPrefetch();
+
+        if (settings == null || !settings.enabled()) {
+            stop();
+            return;
+        }
+
+        if (executor == null) executor = Executors.newVirtualThreadPerTaskExecutor();
+        if (ticker != null) ticker.cancel();
+        ticker = Bukkit.getScheduler().runTaskTimer(EnderSkyGrid.get(), this::tick, settings.intervalTicks(), settings.intervalTicks());
+
+        prefetched.clear();
+    }
+
+    public void stop() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        prefetched.clear();
+    }
+
+    public CompletableFuture<LootRoll> take(World world, int x, int y, int z) {
+        Map<Long, CompletableFuture<LootRoll>> rolls = prefetched.get(world.getUID());
+        return (rolls == null) ? null : rolls.remove(blockKey(x, y, z));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Map<Long, CompletableFuture<LootRoll>> rolls = prefetched.get(event.getWorld().getUID());
+        if (rolls == null || rolls.isEmpty()) return;
+
+        Chunk chunk = event.getChunk();
+        chestIndex.forEach(event.getWorld().getName(), chunk.getX(), chunk.getZ(), (x, y, z, poolId) -> rolls.remove(blockKey(x, y, z)));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        prefetched.remove(event.getWorld().getUID());
+    }
+
+    private void tick() {
+        if (executor == null) return;
+
+        for (World world : Bukkit.getWorlds()) {
+            SkyGridGenerator.Binding bound = generators.binding(world);
+            if (bound == null || bound.settings() == null) continue;
+
+            int radius = bound.config().lootPrefetch().radius();
+            long generation = bound.generation();
+
+            Map<Long, CompletableFuture<LootRoll>> rolls = prefetched.computeIfAbsent(world.getUID(), k -> new ConcurrentHashMap<>());
+
+            for (Player player : world.getPlayers()) {
+                Location at = player.getLocation();
+                int px = at.getBlockX();
+                int py = at.getBlockY();
+                int pz = at.getBlockZ();
+
+                for (int cx = (px - radius) >> 4; cx <= (px + radius) >> 4; cx++) {
+                    for (int cz = (pz - radius) >> 4; cz <= (pz + radius) >> 4; cz++) {
+                        if (!world.isChunkLoaded(cx, cz)) continue;
+
+                        chestIndex.forEach(world.getName(), cx, cz, (x, y, z, poolId) -> {
+                            if (poolId < 0) return;
+
+                            long dx = x - px, dy = y - py, dz = z - pz;
+                            if (dx * dx + dy * dy + dz * dz > (long) radius * radius) return;
+
+                            long key = blockKey(x, y, z);
+                            CompletableFuture<LootRoll> existing = rolls.get(key);
+                            if (existing != null && (!existing.isDone() || (!existing.isCompletedExceptionally() && existing.join().generation() == generation))) return;
+
+                            rolls.put(key, submit(bound, world, x, y, z, poolId));
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<LootRoll> submit(SkyGridGenerator.Binding bound, World world, int x, int y, int z, int poolId) {
+        LootPoolPlan plan = planFor(bound.config(), bound.profile(), poolId);
+        long seed = SkyGridPopulator.chestSeed(bound.settings(), world.getSeed(), x, y, z);
+
+        return CompletableFuture.supplyAsync(() -> LootRoll.resolve(bound.generation(), plan, seed, CHEST_SLOTS), executor);
+    }
+
+    static LootPoolPlan planFor(SkyGridConfig config, String profile, int poolId) {
+        LootPoolPlan plan = config.lootPools().plan(poolId);
+        return (plan != null) ? plan : config.lootPools().plan(SkyGridPopulator.defaultPoolFor(profile));
+    }
+
+    static long blockKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) | (((long) z & 0x3FFFFFFL) << 26) | (((long) y & 0xFFFL) << 52);
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.LootEntry;
+import br.com.enderfy.enderskygrid.model.LootPoolPlan;
+import br.com.enderfy.enderskygrid.model.LootTable;
+
+import java.util.Random;
+
+public record LootRoll(
+        long generation,
+        int inventorySize,
+        LootTable table,
+        LootEntry[] entries,
+        int[] amounts,
+        int[] slots
+) {
+    public static LootRoll resolve(long generation, LootPoolPlan plan, long seed, int inventorySize) {
+        Random random = new Random(seed);
+
+        LootTable table = plan.pick(random);
+        if (table == null) return new LootRoll(generation, inventorySize, null, new LootEntry[0], new int[0], new int[0]);
+
+        random.setSeed(seed);
+
+        LootEntry[] picked = new LootEntry[table.maxRolls()];
+        int[] amounts = new int[table.maxRolls()];
+        int count = table.rollInto(random, picked, amounts);
+        if (count == 0) return new LootRoll(generation, inventorySize, table, picked, amounts, new int[0]);
+
+        int[] slots = new int[inventorySize];
+        for (int i = 0; i < inventorySize; i++) slots[i] = i;
+        for (int i = inventorySize; i > 1; i--) {
+            int j = random.nextInt(i);
+            int tmp = slots[i - 1];
+            slots[i - 1] = slots[j];
+            slots[j] = tmp;
+        }
+
+        int filled = Math.min(count, inventorySize);
+        int[] chosen = new int[filled];
+        System.arraycopy(slots, 0, chosen, 0, filled);
+
+        return new LootRoll(generation, inventorySize, table, picked, amounts, chosen);
+    }
+
+    public int filled() {
+        return slots.length;
+    }
+}
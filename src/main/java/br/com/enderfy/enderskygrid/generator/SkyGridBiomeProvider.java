@@ -0,0 +1,95 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.model.BiomePalettes;
+import br.com.enderfy.enderskygrid.model.GridLayer;
+import br.com.enderfy.enderskygrid.model.GridPalette;
+import br.com.enderfy.enderskygrid.model.WorldSettings;
+import org.bukkit.block.Biome;
+import org.bukkit.generator.BiomeProvider;
+import org.bukkit.generator.WorldInfo;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class SkyGridBiomeProvider extends BiomeProvider {
+
+    private final Biome[] biomes;
+    private final List<Biome> biomeList;
+    private final int cellSize;
+
+    private SkyGridBiomeProvider(Biome[] biomes, int cellSize) {
+        this.biomes = biomes;
+        this.biomeList = List.of(biomes);
+        this.cellSize = cellSize;
+    }
+
+    public static SkyGridBiomeProvider of(WorldSettings settings) {
+        if (settings.biomeCells() == null || !settings.biomeCells().enabled()) return null;
+
+        List<Biome> biomes = new ArrayList<>();
+        for (String name : biomeNames(settings)) {
+            Biome biome = ConfigManager.tryGetBiome(name);
+            if (biome != null) biomes.add(biome);
+        }
+        if (biomes.isEmpty()) return null;
+
+        return new SkyGridBiomeProvider(biomes.toArray(new Biome[0]), settings.biomeCells().cellSize());
+    }
+
+    public static List<String> biomeNames(WorldSettings settings) {
+        Set<String> names = new TreeSet<>();
+        addBiomeNames(settings.palettes(), names);
+        for (GridLayer layer : settings.layers()) addBiomeNames(layer.palettes(), names);
+        return List.copyOf(names);
+    }
+
+    private static void addBiomeNames(BiomePalettes palettes, Set<String> names) {
+        for (Map.Entry<String, GridPalette> e : palettes.byName().entrySet()) {
+            if (!e.getValue().isEmpty()) names.add(e.getKey());
+        }
+    }
+
+    public static int cell(long seed, int cellSize, int x, int z, int count) {
+        long salt = seed ^ GridRandom.BIOME_SALT;
+        int cellX = Math.floorDiv(x, cellSize);
+        int cellZ = Math.floorDiv(z, cellSize);
+
+        long best = Long.MAX_VALUE;
+        int bestX = cellX;
+        int bestZ = cellZ;
+
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                int cx = cellX + dx;
+                int cz = cellZ + dz;
+
+                long h = GridRandom.hash(salt, cx, 0, cz);
+                long px = (long) cx * cellSize + GridRandom.toInt(h, cellSize);
+                long pz = (long) cz * cellSize + (int) (((h & 0xFFFFFFFFL) * cellSize) >>> 32);
+
+                long distance = (px - x) * (px - x) + (pz - z) * (pz - z);
+                if (distance < best) {
+                    best = distance;
+                    bestX = cx;
+                    bestZ = cz;
+                }
+            }
+        }
+        return GridRandom.toInt(GridRandom.hash(salt, bestX, 1, bestZ), count);
+    }
+
+    @Override
+    public @NotNull Biome getBiome(@NotNull WorldInfo worldInfo, int x, int y, int z) {
+        return biomes[cell(worldInfo.getSeed(), cellSize, x, z, biomes.length)];
+    }
+
+    @Override
+    public @NotNull List<Biome> getBiomes(@NotNull WorldInfo worldInfo) {
+        return biomeList;
+    }
+}
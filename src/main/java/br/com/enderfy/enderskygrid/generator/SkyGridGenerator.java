@@ -1,18 +1,53 @@
 package br.com.enderfy.enderskygrid.generator;
 
 import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.metrics.GenerationMetrics;
+import br.com.enderfy.enderskygrid.metrics.WorldMetrics;
 import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.BiomeProvider;
+import org.bukkit.generator.BlockPopulator;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.generator.WorldInfo;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 public class SkyGridGenerator extends ChunkGenerator {
 
+    private static final int SPAWN_SEARCH_RADIUS = 64;
+
+    private final TileIntentStore tileIntents = new TileIntentStore();
+    private final SkyGridPopulator populator;
+    private final String profile;
+
+    private final AtomicReference<Binding> binding = new AtomicReference<>();
+    private volatile String worldName;
+    private volatile World.Environment environment;
+
+    private final LongAdder noiseChunks = new LongAdder();
+    private final LongAdder noiseNanos = new LongAdder();
+    private final AtomicInteger noiseTimers = new AtomicInteger();
+
+    public record Binding(long generation, SkyGridConfig config, WorldSettings settings, String profile) {}
+
+    public SkyGridGenerator(ChestIndex chestIndex) {
+        this(chestIndex, null);
+    }
+
+    public SkyGridGenerator(ChestIndex chestIndex, String profile) {
+        this.populator = new SkyGridPopulator(tileIntents, chestIndex, this);
+        this.profile = profile;
+    }
+
     @Override
     public void generateNoise(
             @NotNull WorldInfo worldInfo,
@@ -21,96 +56,220 @@ public class SkyGridGenerator extends ChunkGenerator {
             int chunkZ,
             @NotNull ChunkData chunkData
     ) {
-        SkyGridConfig config = ConfigManager.get();
-        if (config == null) return;
+        if (noiseTimers.get() == 0 && !GenerationMetrics.enabled()) {
+            generate(worldInfo, chunkX, chunkZ, chunkData);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int placed = generate(worldInfo, chunkX, chunkZ, chunkData);
+        long elapsed = System.nanoTime() - start;
+
+        noiseNanos.add(elapsed);
+        noiseChunks.increment();
+
+        if (placed < 0) return;
+        WorldMetrics metrics = GenerationMetrics.world(worldInfo.getName());
+        if (metrics != null) metrics.chunkGenerated(placed, elapsed);
+    }
+
+    public void timeNoise(boolean on) {
+        if (on) noiseTimers.incrementAndGet();
+        else noiseTimers.decrementAndGet();
+    }
+
+    public long noiseChunks() {
+        return noiseChunks.sum();
+    }
+
+    public long noiseNanos() {
+        return noiseNanos.sum();
+    }
+
+    TileIntentStore tileIntents() {
+        return tileIntents;
+    }
+
+    public String profile() {
+        return profile;
+    }
+
+    Binding binding(WorldInfo worldInfo) {
+        Binding bound = binding.get();
+        if (bound != null) return bound;
+
+        worldName = worldInfo.getName();
+        environment = worldInfo.getEnvironment();
+
+        ConfigManager.Snapshot snapshot = ConfigManager.snapshot();
+        if (snapshot.config() == null) return null;
+
+        return publish(bind(snapshot.generation(), snapshot.config(), worldName, environment));
+    }
+
+    public void bind(WorldInfo worldInfo, ConfigManager.Snapshot snapshot) {
+        worldName = worldInfo.getName();
+        environment = worldInfo.getEnvironment();
+        rebind(snapshot);
+    }
+
+    public void rebind(ConfigManager.Snapshot snapshot) {
+        String name = worldName;
+        World.Environment env = environment;
+        if (name == null || env == null) return;
+
+        if (snapshot.config() == null) binding.set(null);
+        else publish(bind(snapshot.generation(), snapshot.config(), name, env));
+    }
 
-        if (!config.worlds().contains(worldInfo.getName())) return;
+    private Binding publish(Binding next) {
+        return binding.accumulateAndGet(next, (current, candidate) ->
+                (current == null || candidate.generation() >= current.generation()) ? candidate : current);
+    }
+
+    private Binding bind(long generation, SkyGridConfig config, String name, World.Environment env) {
+        String key = profileFor(profile, env);
+        WorldSettings settings = config.worlds().contains(name) ? profileSettings(config, key, env) : null;
+        return new Binding(generation, config, settings, key);
+    }
 
-        WorldSettings settings = worldSettings(worldInfo, config);
-        int spacing = Math.max(1, settings.spacing());
+    private int generate(WorldInfo worldInfo, int chunkX, int chunkZ, ChunkData chunkData) {
+        Binding bound = binding(worldInfo);
+        if (bound == null || bound.settings() == null) return -1;
 
+        WorldSettings settings = bound.settings();
+
+        final long seed = worldInfo.getSeed();
         final int baseX = chunkX << 4;
         final int baseZ = chunkZ << 4;
+        final TileBudget budget = TileBudget.of(settings, seed, chunkX, chunkZ);
+        final ChunkWriter writer = new ChunkWriter(chunkData, baseX, baseZ, settings.layers().size() > 1);
 
-        final int minY = Math.max(settings.minY(), chunkData.getMinHeight());
-        final int maxY = Math.min(settings.maxY(), chunkData.getMaxHeight() - 1);
-        if (minY > maxY) return;
+        int placed = GridSelector.chunk(settings, seed, chunkX, chunkZ, chunkData.getMinHeight(), chunkData.getMaxHeight(), budget,
+                (palettes, x, y, z) -> palettes.get(chunkData.getBiome(x - baseX, y, z - baseZ)), writer);
+        writer.flush();
 
-        final int xStart = alignToChunk(baseX, spacing);
-        final int zStart = alignToChunk(baseZ, spacing);
-        final int yStart = alignUp(minY, spacing);
+        if (budget != null && (budget.chestRerolls() > 0 || budget.spawnerRerolls() > 0)) {
+            WorldMetrics metrics = GenerationMetrics.world(worldInfo.getName());
+            if (metrics != null) metrics.tileCapped(budget.chestRerolls(), budget.spawnerRerolls());
+        }
 
-        for (int x = xStart; x < 16; x += spacing) {
-            final int wx = baseX + x;
+        tileIntents.put(worldInfo.getUID(), chunkX, chunkZ, writer.intents());
+        return placed;
+    }
+
+    private static final class ChunkWriter implements GridSelector.Sink {
 
-            for (int z = zStart; z < 16; z += spacing) {
-                final int wz = baseZ + z;
+        private final ChunkData chunkData;
+        private final int baseX;
+        private final int baseZ;
+        private final boolean layered;
 
-                for (int y = yStart; y <= maxY; y += spacing) {
-                    Biome biome = chunkData.getBiome(x, y, z);
-                    List<GridEntry> palette = paletteFor(biome, settings);
-                    if (palette == null || palette.isEmpty()) continue;
+        private Map<Integer, TileIntent> intents;
 
-                    Random r = seeded(worldInfo.getSeed(), wx, y, wz);
-                    GridEntry picked = pickWeighted(palette, r);
-                    if (picked == null) continue;
+        private GridPalette runPalette;
+        private int runIndex;
+        private int runX;
+        private int runZ;
+        private int runStart;
+        private int runEnd;
+
+        ChunkWriter(ChunkData chunkData, int baseX, int baseZ, boolean layered) {
+            this.chunkData = chunkData;
+            this.baseX = baseX;
+            this.baseZ = baseZ;
+            this.layered = layered;
+        }
 
-                    chunkData.setBlock(x, y, z, picked.material());
-                }
+        @Override
+        public void place(int wx, int y, int wz, GridPalette palette, int index) {
+            final int x = wx - baseX;
+            final int z = wz - baseZ;
+            final GridEntry picked = palette.entry(index);
+
+            if (runPalette != null && runX == x && runZ == z && runEnd == y - 1 && runPalette.entry(runIndex).material() == picked.material()) {
+                runEnd = y;
+            } else {
+                flush();
+                runPalette = palette;
+                runIndex = index;
+                runX = x;
+                runZ = z;
+                runStart = y;
+                runEnd = y;
+            }
+
+            if (layered && intents != null) intents.remove(key(x, y, z));
+            if (picked.isChest() || picked.isSpawner()) {
+                if (intents == null) intents = new LinkedHashMap<>();
+                intents.put(key(x, y, z), new TileIntent(wx, y, wz, picked.material(), palette));
             }
         }
-    }
 
-    private static WorldSettings worldSettings(WorldInfo worldInfo, SkyGridConfig cfg) {
-        World.Environment environment = worldInfo.getEnvironment();
-        return switch (environment) {
-            case NETHER -> cfg.nether();
-            case THE_END -> cfg.end();
-            default -> cfg.overworld();
-        };
-    }
+        void flush() {
+            if (runPalette == null) return;
 
-    private static List<GridEntry> paletteFor(Biome biome, WorldSettings settings) {
-        List<GridEntry> list = settings.biomesMaterial().get(biome);
-        if (list == null || list.isEmpty()) list = settings.biomesMaterial().get(settings.defaultBiome());
-        return list;
+            BlockData data = runPalette.blockData(runIndex);
+            if (runStart == runEnd) {
+                if (data != null) chunkData.setBlock(runX, runStart, runZ, data);
+                else chunkData.setBlock(runX, runStart, runZ, runPalette.entry(runIndex).material());
+            } else {
+                if (data != null) chunkData.setRegion(runX, runStart, runZ, runX + 1, runEnd + 1, runZ + 1, data);
+                else chunkData.setRegion(runX, runStart, runZ, runX + 1, runEnd + 1, runZ + 1, runPalette.entry(runIndex).material());
+            }
+            runPalette = null;
+        }
+
+        List<TileIntent> intents() {
+            return (intents == null) ? List.of() : List.copyOf(intents.values());
+        }
+
+        private static int key(int x, int y, int z) {
+            return (y << 8) | (z << 4) | x;
+        }
     }
 
-    private static GridEntry pickWeighted(List<GridEntry> entries, Random r) {
-        double total = 0.0;
-        for (GridEntry e : entries) total += Math.max(0.0, e.weight());
-        if (total <= 0) return null;
+    @Override
+    public BiomeProvider getDefaultBiomeProvider(@NotNull WorldInfo worldInfo) {
+        Binding bound = binding(worldInfo);
+        if (bound == null || bound.settings() == null) return null;
 
-        double roll = r.nextDouble() * total;
-        double acc = 0.0;
+        return SkyGridBiomeProvider.of(bound.settings());
+    }
 
-        for (GridEntry e : entries) {
-            double w = Math.max(0.0, e.weight());
-            if (w <= 0) continue;
+    @Override
+    public Location getFixedSpawnLocation(@NotNull World world, @NotNull Random random) {
+        Binding bound = binding(world);
+        if (bound == null || bound.settings() == null || !bound.settings().fixedSpawn()) return null;
 
-            acc += w;
-            if (roll <= acc) return e;
-        }
-        return null;
+        BiomeProvider biomes = SkyGridBiomeProvider.of(bound.settings());
+        if (biomes == null) biomes = world.vanillaBiomeProvider();
+
+        SkyGridQuery query = SkyGridQuery.of(world, this, biomes);
+        SkyGridQuery.Cell cell = (query == null) ? null : query.safeTopNear(0, 0, SPAWN_SEARCH_RADIUS);
+        return (cell == null) ? null : new Location(world, cell.x() + 0.5, cell.y() + 1, cell.z() + 0.5);
     }
 
-    private static int alignToChunk(int base, int spacing) {
-        int mod = base % spacing;
-        if (mod < 0) mod += spacing;
-        return (mod == 0) ? 0 : (spacing - mod);
+    @Override
+    public @NotNull List<BlockPopulator> getDefaultPopulators(@NotNull World world) {
+        return List.of(populator);
     }
 
-    private static int alignUp(int value, int spacing) {
-        int mod = value % spacing;
-        if (mod < 0) mod += spacing;
-        return (mod == 0) ? value : (value + (spacing - mod));
+    public static String profileFor(String profile, World.Environment environment) {
+        if (profile != null) return profile;
+        return switch (environment) {
+            case NETHER -> "nether";
+            case THE_END -> "end";
+            default -> "overworld";
+        };
     }
 
-    private static Random seeded(long seed, int x, int y, int z) {
-        long s = seed;
-        s ^= (x * 341873128712L);
-        s ^= (z * 132897987541L);
-        s ^= (y * 42317861L);
-        return new Random(s);
+    public static WorldSettings profileSettings(SkyGridConfig cfg, String profile, World.Environment environment) {
+        return switch (profileFor(profile, environment)) {
+            case "nether" -> cfg.nether();
+            case "end" -> cfg.end();
+            default -> cfg.overworld();
+        };
     }
+
 }
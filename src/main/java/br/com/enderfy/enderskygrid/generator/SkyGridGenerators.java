@@ -0,0 +1,63 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+public class SkyGridGenerators implements Listener {
+
+    public static final Set<String> PROFILES = Set.of("overworld", "nether", "end");
+
+    private final ChestIndex chestIndex;
+    private final Map<String, SkyGridGenerator> byWorld = new ConcurrentHashMap<>();
+
+    public SkyGridGenerators(ChestIndex chestIndex) {
+        this.chestIndex = chestIndex;
+    }
+
+    public SkyGridGenerator create(String worldName, String id, Logger logger) {
+        String profile = (id == null || id.isBlank()) ? null : id.trim().toLowerCase(Locale.ROOT);
+        if (profile != null && !PROFILES.contains(profile)) {
+            logger.warning("[EnderSkyGrid] Unknown generator profile '" + id + "' for world " + worldName + ", expected one of " + PROFILES);
+            profile = null;
+        }
+
+        SkyGridGenerator generator = new SkyGridGenerator(chestIndex, profile);
+        byWorld.put(worldName, generator);
+        return generator;
+    }
+
+    public SkyGridGenerator get(String worldName) {
+        return byWorld.get(worldName);
+    }
+
+    public SkyGridGenerator get(World world) {
+        SkyGridGenerator generator = byWorld.get(world.getName());
+        if (generator == null && world.getGenerator() instanceof SkyGridGenerator attached) generator = attached;
+        return generator;
+    }
+
+    public SkyGridGenerator.Binding binding(World world) {
+        SkyGridGenerator generator = get(world);
+        return (generator == null) ? null : generator.binding(world);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        SkyGridGenerator generator = get(event.getWorld());
+        if (generator != null) generator.tileIntents().clear(event.getWorld().getUID());
+    }
+
+    public void rebind(ConfigManager.Snapshot snapshot) {
+        for (SkyGridGenerator generator : byWorld.values()) generator.rebind(snapshot);
+    }
+}
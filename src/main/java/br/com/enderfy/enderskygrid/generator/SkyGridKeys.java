@@ -0,0 +1,18 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import org.bukkit.NamespacedKey;
+
+public final class SkyGridKeys {
+
+    public static final NamespacedKey CHEST_POOL_ID = new NamespacedKey(EnderSkyGrid.get(), "skygrid_chest_pool_id");
+
+    public static final NamespacedKey CHEST_PENDING = new NamespacedKey(EnderSkyGrid.get(), "skygrid_chest_pending");
+    public static final NamespacedKey CHEST_SEED = new NamespacedKey(EnderSkyGrid.get(), "skygrid_chest_seed");
+    public static final NamespacedKey CHEST_LOOT_POOL = new NamespacedKey(EnderSkyGrid.get(), "skygrid_chest_loot_pool");
+
+    public static final NamespacedKey SPAWNER = new NamespacedKey(EnderSkyGrid.get(), "skygrid_spawner");
+    public static final NamespacedKey SPAWNED_IN = new NamespacedKey(EnderSkyGrid.get(), "skygrid_spawned_in");
+
+    private SkyGridKeys() {}
+}
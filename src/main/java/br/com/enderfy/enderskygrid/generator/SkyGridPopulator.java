@@ -0,0 +1,206 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.metrics.GenerationMetrics;
+import br.com.enderfy.enderskygrid.metrics.WorldMetrics;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Material;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.block.CreatureSpawner;
+import org.bukkit.entity.EntityType;
+import org.bukkit.generator.BlockPopulator;
+import org.bukkit.generator.LimitedRegion;
+import org.bukkit.generator.WorldInfo;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+public class SkyGridPopulator extends BlockPopulator {
+
+    private final TileIntentStore intents;
+    private final ChestIndex chestIndex;
+    private final SkyGridGenerator generator;
+
+    public SkyGridPopulator(TileIntentStore intents, ChestIndex chestIndex, SkyGridGenerator generator) {
+        this.intents = intents;
+        this.chestIndex = chestIndex;
+        this.generator = generator;
+    }
+
+    @Override
+    public void populate(
+            @NotNull WorldInfo worldInfo,
+            @NotNull Random random,
+            int chunkX,
+            int chunkZ,
+            @NotNull LimitedRegion region
+    ) {
+        List<TileIntent> recorded = intents.take(worldInfo.getUID(), chunkX, chunkZ);
+
+        SkyGridGenerator.Binding bound = generator.binding(worldInfo);
+        if (bound == null || bound.settings() == null) return;
+
+        SkyGridConfig config = bound.config();
+        WorldMetrics metrics = GenerationMetrics.world(worldInfo.getName());
+        long start = (metrics == null) ? 0L : System.nanoTime();
+
+        WorldSettings settings = bound.settings();
+        List<TileIntent> cells = (recorded != null) ? recorded : rescan(worldInfo, chunkX, chunkZ, region, settings);
+
+        int chests = 0;
+        int spawners = 0;
+
+        for (TileIntent cell : cells) {
+            if (cell.material() == Material.CHEST) {
+                int poolId = chestPoolId(config, cell.palette(), bound.profile());
+                if (markChestPending(region, cell, poolId)) {
+                    chestIndex.add(worldInfo.getName(), cell.x(), cell.y(), cell.z(), poolId);
+                    chests++;
+                }
+            } else if (cell.material() == Material.SPAWNER) {
+                if (configureSpawner(region, cell, settings, config.spawners(), worldInfo.getSeed())) spawners++;
+            }
+        }
+
+        chestIndex.markIndexed(worldInfo.getName(), chunkX, chunkZ);
+
+        if (metrics != null) metrics.chunkPopulated(chests, spawners, System.nanoTime() - start);
+    }
+
+    private List<TileIntent> rescan(WorldInfo worldInfo, int chunkX, int chunkZ, LimitedRegion region, WorldSettings settings) {
+        int baseX = chunkX << 4;
+        int baseZ = chunkZ << 4;
+        int minHeight = worldInfo.getMinHeight();
+        int maxHeight = worldInfo.getMaxHeight();
+
+        GridSelector.PaletteResolver biomes = (palettes, x, y, z) -> palettes.get(region.getBiome(x, y, z));
+        Set<Integer> seen = (settings.layers().size() > 1) ? new HashSet<>() : null;
+        List<TileIntent> out = new ArrayList<>();
+
+        for (GridLayer layer : settings.layers()) {
+            for (int cell : layer.layout().cells(chunkX, chunkZ, minHeight, maxHeight)) {
+                if (seen != null && !seen.add(cell)) continue;
+
+                int wx = baseX + GridLayout.x(cell);
+                int wy = GridLayout.y(cell);
+                int wz = baseZ + GridLayout.z(cell);
+
+                Material type = region.getType(wx, wy, wz);
+                if (type != Material.CHEST && type != Material.SPAWNER) continue;
+
+                GridSelector.point(settings, worldInfo.getSeed(), wx, wy, wz, minHeight, maxHeight, biomes,
+                        (x, y, z, palette, index) -> out.add(new TileIntent(x, y, z, type, palette)));
+            }
+        }
+        return out;
+    }
+
+    private boolean markChestPending(LimitedRegion region, TileIntent cell, int poolId) {
+        BlockState state = region.getBlockState(cell.x(), cell.y(), cell.z());
+        if (!(state instanceof Chest chest)) return false;
+
+        PersistentDataContainer pdc = chest.getPersistentDataContainer();
+        pdc.set(SkyGridKeys.CHEST_POOL_ID, PersistentDataType.INTEGER, poolId);
+
+        chest.update(true, false);
+        return true;
+    }
+
+    private boolean configureSpawner(LimitedRegion region, TileIntent cell, WorldSettings settings, SpawnerSettings throttle, long seed) {
+        EntityType picked = spawnerMob(settings, cell.palette(), seed, cell.x(), cell.y(), cell.z());
+        if (picked == null) return false;
+
+        BlockState state = region.getBlockState(cell.x(), cell.y(), cell.z());
+        if (!(state instanceof CreatureSpawner spawner)) return false;
+
+        spawner.setSpawnedType(picked);
+        spawner.getPersistentDataContainer().set(SkyGridKeys.SPAWNER, PersistentDataType.BYTE, (byte) 1);
+
+        int delay = spawnerDelay(throttle, seed, cell.x(), cell.y(), cell.z());
+        if (delay >= 0) spawner.setDelay(delay);
+
+        spawner.update(true, false);
+        return true;
+    }
+
+    public static int chestPoolId(SkyGridConfig config, GridPalette palette, String profile) {
+        int poolId = config.lootPools().idOf(resolveChestLootPool(palette, profile));
+        return (poolId >= 0) ? poolId : config.lootPools().idOf(defaultPoolFor(profile));
+    }
+
+    public static EntityType spawnerMob(WorldSettings settings, GridPalette palette, long seed, int x, int y, int z) {
+        Map<EntityType, Integer> mobWeights = resolveSpawnerMobs(palette);
+        if (mobWeights.isEmpty()) return null;
+
+        int total = 0;
+        for (int w : mobWeights.values()) total += Math.max(0, w);
+        if (total <= 0) return null;
+
+        int roll = settings.legacyRandom()
+                ? new Random(GridRandom.legacySeed(seed, x, y, z)).nextInt(total)
+                : GridRandom.toInt(GridRandom.hash(seed ^ GridRandom.SPAWNER_SALT, x, y, z), total);
+
+        return pickWeightedMob(mobWeights, roll + 1);
+    }
+
+    public static int spawnerDelay(SpawnerSettings throttle, long seed, int x, int y, int z) {
+        if (throttle == null || !throttle.enabled()) return -1;
+
+        int range = throttle.initialDelayMax() - throttle.initialDelayMin() + 1;
+        int jitter = GridRandom.toInt(GridRandom.hash(seed ^ GridRandom.SPAWNER_DELAY_SALT, x, y, z), range);
+        return throttle.initialDelayMin() + jitter;
+    }
+
+    private static List<String> resolveChestLootPool(GridPalette palette, String profile) {
+        if (palette != null) {
+            for (GridEntry e : palette.entries()) {
+                if (e != null && e.isChest()) {
+                    List<String> tables = e.lootTables();
+                    if (tables != null && !tables.isEmpty()) return tables;
+                }
+            }
+        }
+        return defaultPoolFor(profile);
+    }
+
+    private static Map<EntityType, Integer> resolveSpawnerMobs(GridPalette palette) {
+        if (palette == null) return Map.of();
+
+        for (GridEntry e : palette.entries()) {
+            if (e != null && e.isSpawner()) {
+                Map<EntityType, Integer> mobs = e.mobWeights();
+                if (mobs != null && !mobs.isEmpty()) return mobs;
+            }
+        }
+        return Map.of();
+    }
+
+    static EntityType pickWeightedMob(Map<EntityType, Integer> mobWeights, int roll) {
+        int acc = 0;
+
+        for (Map.Entry<EntityType, Integer> e : mobWeights.entrySet()) {
+            int w = Math.max(0, e.getValue());
+            if (w == 0) continue;
+
+            acc += w;
+            if (roll <= acc) return e.getKey();
+        }
+        return null;
+    }
+
+    public static List<String> defaultPoolFor(String profile) {
+        return switch (profile) {
+            case "nether" -> List.of("nether");
+            case "end" -> List.of("end");
+            default -> List.of("overworld");
+        };
+    }
+
+    public static long chestSeed(WorldSettings settings, long seed, int x, int y, int z) {
+        return settings.legacyRandom()
+                ? GridRandom.legacySeed(seed, x, y, z)
+                : GridRandom.hash(seed ^ GridRandom.CHEST_SALT, x, y, z);
+    }
+}
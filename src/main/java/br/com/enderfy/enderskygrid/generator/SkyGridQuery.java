@@ -0,0 +1,215 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.generator.BiomeProvider;
+import org.bukkit.generator.WorldInfo;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+public final class SkyGridQuery {
+
+    private static final Set<Material> HAZARDS = EnumSet.of(
+            Material.MAGMA_BLOCK, Material.CACTUS, Material.CAMPFIRE, Material.SOUL_CAMPFIRE, Material.POWDER_SNOW);
+
+    private final WorldSettings settings;
+    private final long seed;
+    private final int minHeight;
+    private final int maxHeight;
+    private final GridSelector.PaletteResolver resolver;
+    private final boolean budgeted;
+
+    public record Cell(int x, int y, int z, GridPalette palette, int index) {
+        public GridEntry entry() {
+            return palette.entry(index);
+        }
+
+        public Material material() {
+            return entry().material();
+        }
+    }
+
+    public SkyGridQuery(WorldSettings settings, long seed, int minHeight, int maxHeight, GridSelector.PaletteResolver resolver) {
+        this.settings = settings;
+        this.seed = seed;
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+        this.resolver = resolver;
+        this.budgeted = settings.tileCaps() != null && settings.tileCaps().enabled();
+    }
+
+    public static SkyGridQuery of(World world) {
+        if (!(world.getGenerator() instanceof SkyGridGenerator generator)) return null;
+
+        BiomeProvider provider = world.getBiomeProvider();
+        return of(world, generator, (provider != null) ? provider : world.vanillaBiomeProvider());
+    }
+
+    static SkyGridQuery of(WorldInfo worldInfo, SkyGridGenerator generator, BiomeProvider biomes) {
+        SkyGridGenerator.Binding bound = generator.binding(worldInfo);
+        if (bound == null || bound.settings() == null || biomes == null) return null;
+
+        return new SkyGridQuery(bound.settings(), worldInfo.getSeed(), worldInfo.getMinHeight(), worldInfo.getMaxHeight(),
+                (palettes, x, y, z) -> palettes.get(biomes.getBiome(worldInfo, x, y, z)));
+    }
+
+    public WorldSettings settings() {
+        return settings;
+    }
+
+    public Cell at(int x, int y, int z) {
+        if (y < minHeight || y >= maxHeight) return null;
+
+        Cell[] found = new Cell[1];
+        if (!GridSelector.point(settings, seed, x, y, z, minHeight, maxHeight, resolver,
+                (px, py, pz, palette, index) -> found[0] = new Cell(px, py, pz, palette, index))) return null;
+
+        GridEntry picked = found[0].entry();
+        if (budgeted && (picked.isChest() || picked.isSpawner())) return chunkCell(x, y, z);
+        return found[0];
+    }
+
+    public Cell[] at(int[] xyz) {
+        Cell[] out = new Cell[xyz.length / 3];
+        for (int i = 0; i < out.length; i++) out[i] = at(xyz[i * 3], xyz[i * 3 + 1], xyz[i * 3 + 2]);
+        return out;
+    }
+
+    public Cell[] at(int[] xyz, ForkJoinPool pool) {
+        return pool.submit(() -> IntStream.range(0, xyz.length / 3).parallel()
+                .mapToObj(i -> at(xyz[i * 3], xyz[i * 3 + 1], xyz[i * 3 + 2]))
+                .toArray(Cell[]::new)).join();
+    }
+
+    public List<Cell> column(int x, int z) {
+        if (!covers(x, z)) return List.of();
+
+        List<Cell> out = new ArrayList<>();
+        for (int y = minHeight; y < maxHeight; y++) {
+            Cell cell = at(x, y, z);
+            if (cell != null) out.add(cell);
+        }
+        return out;
+    }
+
+    public Cell top(int x, int z) {
+        if (!covers(x, z)) return null;
+
+        for (int y = maxHeight - 1; y >= minHeight; y--) {
+            Cell cell = at(x, y, z);
+            if (cell != null) return cell;
+        }
+        return null;
+    }
+
+    public Cell safeTop(int x, int z) {
+        Cell top = top(x, z);
+        if (top == null || top.y() + 2 >= maxHeight) return null;
+
+        GridEntry entry = top.entry();
+        Material material = entry.material();
+        if (entry.isChest() || entry.isSpawner() || !material.isSolid() || HAZARDS.contains(material)) return null;
+        return top;
+    }
+
+    public Cell safeTopNear(int centerX, int centerZ, int radius) {
+        for (int r = 0; r <= radius; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                int step = (dx == -r || dx == r) ? 1 : 2 * r;
+                for (int dz = -r; dz <= r; dz += Math.max(1, step)) {
+                    Cell cell = safeTop(centerX + dx, centerZ + dz);
+                    if (cell != null) return cell;
+                }
+            }
+        }
+        return null;
+    }
+
+    public void box(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Consumer<Cell> visitor) {
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                chunk(chunkX, chunkZ, minX, minY, minZ, maxX, maxY, maxZ).forEach(visitor);
+            }
+        }
+    }
+
+    public List<Cell> box(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, ForkJoinPool pool) {
+        int chunksX = (maxX >> 4) - (minX >> 4) + 1;
+        int chunksZ = (maxZ >> 4) - (minZ >> 4) + 1;
+
+        return pool.submit(() -> IntStream.range(0, chunksX * chunksZ).parallel()
+                .mapToObj(i -> chunk((minX >> 4) + i % chunksX, (minZ >> 4) + i / chunksX, minX, minY, minZ, maxX, maxY, maxZ))
+                .flatMap(Collection::stream)
+                .toList()).join();
+    }
+
+    public Cell nearest(int x, int y, int z, int radius, Predicate<Cell> filter) {
+        int centerX = x >> 4;
+        int centerZ = z >> 4;
+        int chunks = (radius + 15) >> 4;
+        long limit = (long) radius * radius;
+
+        Cell best = null;
+        long bestDistance = Long.MAX_VALUE;
+
+        for (int r = 0; r <= chunks; r++) {
+            long reach = (r == 0) ? 0L : (long) (r - 1) * 16;
+            if (best != null && reach * reach > bestDistance) break;
+
+            for (int dx = -r; dx <= r; dx++) {
+                int step = (dx == -r || dx == r) ? 1 : 2 * r;
+                for (int dz = -r; dz <= r; dz += Math.max(1, step)) {
+                    int chunkX = centerX + dx;
+                    int chunkZ = centerZ + dz;
+
+                    for (Cell cell : chunk(chunkX, chunkZ, chunkX << 4, minHeight, chunkZ << 4, (chunkX << 4) + 15, maxHeight - 1, (chunkZ << 4) + 15)) {
+                        long ddx = cell.x() - x;
+                        long ddy = cell.y() - y;
+                        long ddz = cell.z() - z;
+                        long distance = ddx * ddx + ddy * ddy + ddz * ddz;
+
+                        if (distance <= limit && distance < bestDistance && filter.test(cell)) {
+                            best = cell;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public EntityType spawnerMob(Cell cell) {
+        if (cell == null || !cell.entry().isSpawner()) return null;
+        return SkyGridPopulator.spawnerMob(settings, cell.palette(), seed, cell.x(), cell.y(), cell.z());
+    }
+
+    private boolean covers(int x, int z) {
+        for (GridLayer layer : settings.layers()) {
+            if (layer.layout().covers(x, z)) return true;
+        }
+        return false;
+    }
+
+    private Cell chunkCell(int x, int y, int z) {
+        for (Cell cell : chunk(x >> 4, z >> 4, x, y, z, x, y, z)) return cell;
+        return null;
+    }
+
+    private Collection<Cell> chunk(int chunkX, int chunkZ, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Map<Long, Cell> cells = new LinkedHashMap<>();
+
+        GridSelector.chunk(settings, seed, chunkX, chunkZ, minHeight, maxHeight, TileBudget.of(settings, seed, chunkX, chunkZ), resolver,
+                (x, y, z, palette, index) -> {
+                    if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) return;
+                    cells.put(((long) y << 8) | ((z & 15) << 4) | (x & 15), new Cell(x, y, z, palette, index));
+                });
+        return cells.values();
+    }
+}
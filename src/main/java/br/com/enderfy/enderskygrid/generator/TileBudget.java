@@ -0,0 +1,95 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.GridEntry;
+import br.com.enderfy.enderskygrid.model.GridPalette;
+import br.com.enderfy.enderskygrid.model.TileCaps;
+import br.com.enderfy.enderskygrid.model.WorldSettings;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class TileBudget {
+
+    private final long seed;
+    private final int chestLimit;
+    private final int spawnerLimit;
+    private final boolean layered;
+
+    private Map<Integer, Boolean> tiles;
+    private int chests;
+    private int spawners;
+    private int chestRerolls;
+    private int spawnerRerolls;
+
+    private TileBudget(long seed, int chestLimit, int spawnerLimit, boolean layered) {
+        this.seed = seed;
+        this.chestLimit = chestLimit;
+        this.spawnerLimit = spawnerLimit;
+        this.layered = layered;
+    }
+
+    public static TileBudget of(WorldSettings settings, long seed, int chunkX, int chunkZ) {
+        TileCaps caps = settings.tileCaps();
+        if (caps == null || !caps.enabled()) return null;
+
+        return new TileBudget(seed, caps.chestLimit(seed, chunkX, chunkZ), caps.spawnerLimit(seed ^ GridRandom.SPAWNER_CAP_SALT, chunkX, chunkZ),
+                settings.layers().size() > 1);
+    }
+
+    public int admit(GridPalette palette, int index, int x, int y, int z, boolean overwrite) {
+        Integer key = (layered) ? key(x, y, z) : null;
+        Boolean previous = (overwrite && tiles != null) ? tiles.get(key) : null;
+        int freedChests = (previous == Boolean.TRUE) ? 1 : 0;
+        int freedSpawners = (previous == Boolean.FALSE) ? 1 : 0;
+
+        GridEntry picked = palette.entry(index);
+        int result = index;
+
+        if (picked.isChest() && chests - freedChests >= chestLimit) {
+            chestRerolls++;
+            result = reroll(palette, x, y, z);
+        } else if (picked.isSpawner() && spawners - freedSpawners >= spawnerLimit) {
+            spawnerRerolls++;
+            result = reroll(palette, x, y, z);
+        }
+        if (result < 0) return result;
+
+        if (previous != null) {
+            tiles.remove(key);
+            if (previous) chests--;
+            else spawners--;
+        }
+
+        GridEntry placed = palette.entry(result);
+        if (placed.isChest()) {
+            chests++;
+            track(key, true);
+        } else if (placed.isSpawner()) {
+            spawners++;
+            track(key, false);
+        }
+        return result;
+    }
+
+    public int chestRerolls() {
+        return chestRerolls;
+    }
+
+    public int spawnerRerolls() {
+        return spawnerRerolls;
+    }
+
+    private int reroll(GridPalette palette, int x, int y, int z) {
+        return palette.pickPlainIndex(GridRandom.toDouble(GridRandom.hash(seed ^ GridRandom.REROLL_SALT, x, y, z)));
+    }
+
+    private void track(Integer key, boolean chest) {
+        if (key == null) return;
+        if (tiles == null) tiles = new HashMap<>();
+        tiles.put(key, chest);
+    }
+
+    private static int key(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+}
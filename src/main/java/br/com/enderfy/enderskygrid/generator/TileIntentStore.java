@@ -0,0 +1,52 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.TileIntent;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class TileIntentStore {
+
+    private static final int MAX_CHUNKS_PER_WORLD = 16_384;
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private record Pending(List<TileIntent> intents, long stamp) {}
+
+    private final Map<UUID, Map<Long, Pending>> byWorld = new ConcurrentHashMap<>();
+
+    public void put(UUID world, int chunkX, int chunkZ, List<TileIntent> intents) {
+        Map<Long, Pending> chunks = byWorld.computeIfAbsent(world, k -> new ConcurrentHashMap<>());
+        chunks.put(chunkKey(chunkX, chunkZ), new Pending(intents, System.nanoTime()));
+
+        if (chunks.size() > MAX_CHUNKS_PER_WORLD) evict(chunks);
+    }
+
+    public List<TileIntent> take(UUID world, int chunkX, int chunkZ) {
+        Map<Long, Pending> chunks = byWorld.get(world);
+        Pending pending = (chunks == null) ? null : chunks.remove(chunkKey(chunkX, chunkZ));
+        return (pending == null) ? null : pending.intents();
+    }
+
+    public void clear(UUID world) {
+        byWorld.remove(world);
+    }
+
+    private static void evict(Map<Long, Pending> chunks) {
+        long cutoff = System.nanoTime() - MAX_AGE_NANOS;
+        chunks.values().removeIf(pending -> pending.stamp() - cutoff < 0);
+
+        Iterator<Pending> it = chunks.values().iterator();
+        while (chunks.size() > MAX_CHUNKS_PER_WORLD * 3 / 4 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX & 0xFFFFFFFFL) | (((long) chunkZ & 0xFFFFFFFFL) << 32);
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.enderfy.enderskygrid.metrics;
+
+import br.com.enderfy.enderskygrid.model.MetricsSettings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public final class GenerationMetrics {
+
+    private static final Map<String, WorldMetrics> WORLDS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private GenerationMetrics() {}
+
+    public static void configure(MetricsSettings settings) {
+        enabled = settings != null && settings.enabled();
+    }
+
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    public static WorldMetrics world(String name) {
+        if (!enabled) return null;
+        return WORLDS.computeIfAbsent(name, WorldMetrics::new);
+    }
+
+    public static Collection<WorldMetrics> worlds() {
+        return new TreeMap<>(WORLDS).values();
+    }
+
+    public static void reset() {
+        for (WorldMetrics metrics : WORLDS.values()) metrics.reset();
+    }
+
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+
+        for (WorldMetrics m : worlds()) {
+            lines.add(String.format(Locale.ROOT,
+                    "%s: chunks %d, cells %d, chests %d, spawners %d, loot rolls %d (%d items, %d prefetched)",
+                    m.world(), m.chunks.sum(), m.cells.sum(), m.chests.sum(), m.spawners.sum(),
+                    m.lootRolls.sum(), m.lootItems.sum(), m.lootPrefetched.sum()));
+            if (m.chestCapRerolls.sum() > 0 || m.spawnerCapRerolls.sum() > 0) {
+                lines.add(String.format(Locale.ROOT, "  tile caps re-rolled %d chests, %d spawners",
+                        m.chestCapRerolls.sum(), m.spawnerCapRerolls.sum()));
+            }
+            if (m.spawnsThrottled.sum() > 0 || m.spawnsPaused.sum() > 0) {
+                lines.add(String.format(Locale.ROOT, "  spawns held back: %d over tick budget, %d in crowded chunks",
+                        m.spawnsThrottled.sum(), m.spawnsPaused.sum()));
+            }
+            lines.add("  generateNoise " + latency(m.generateNoise.snapshot()));
+            lines.add("  populate " + latency(m.populate.snapshot()));
+            lines.add("  loot fill " + latency(m.lootFill.snapshot()));
+        }
+        return lines;
+    }
+
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        Collection<WorldMetrics> worlds = worlds();
+
+        counter(out, worlds, "enderskygrid_chunks_generated_total", "Chunks generated by the skygrid generator.", m -> m.chunks);
+        counter(out, worlds, "enderskygrid_cells_placed_total", "Grid cells placed during generateNoise.", m -> m.cells);
+        counter(out, worlds, "enderskygrid_chests_marked_total", "Chests tagged with a loot pool.", m -> m.chests);
+        counter(out, worlds, "enderskygrid_spawners_marked_total", "Spawners configured with a mob.", m -> m.spawners);
+        counter(out, worlds, "enderskygrid_chest_cap_rerolls_total", "Chest picks re-rolled by the tile caps.", m -> m.chestCapRerolls);
+        counter(out, worlds, "enderskygrid_spawner_cap_rerolls_total", "Spawner picks re-rolled by the tile caps.", m -> m.spawnerCapRerolls);
+        counter(out, worlds, "enderskygrid_spawns_throttled_total", "Spawner spawns cancelled by the per-tick budget.", m -> m.spawnsThrottled);
+        counter(out, worlds, "enderskygrid_spawns_paused_total", "Spawner spawns cancelled in crowded chunks.", m -> m.spawnsPaused);
+        counter(out, worlds, "enderskygrid_loot_rolls_total", "Chests filled on first open.", m -> m.lootRolls);
+        counter(out, worlds, "enderskygrid_loot_items_total", "Items placed in filled chests.", m -> m.lootItems);
+        counter(out, worlds, "enderskygrid_loot_prefetched_total", "Chest fills served from a prefetched roll.", m -> m.lootPrefetched);
+
+        summary(out, worlds, "enderskygrid_generate_noise_seconds", "Time spent in generateNoise per chunk.", m -> m.generateNoise);
+        summary(out, worlds, "enderskygrid_populate_seconds", "Time spent in the tile populator per chunk.", m -> m.populate);
+        summary(out, worlds, "enderskygrid_loot_fill_seconds", "Time spent filling a chest on first open.", m -> m.lootFill);
+
+        return out.toString();
+    }
+
+    private static String latency(LatencyHistogram.Snapshot s) {
+        return String.format(Locale.ROOT, "n=%d p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                s.count(), millis(s.percentile(0.50)), millis(s.percentile(0.99)), millis(s.maxNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void counter(StringBuilder out, Collection<WorldMetrics> worlds, String name, String help,
+                                Function<WorldMetrics, LongAdder> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (WorldMetrics m : worlds) {
+            out.append(name).append("{world=\"").append(escape(m.world())).append("\"} ").append(value.apply(m).sum()).append('\n');
+        }
+    }
+
+    private static void summary(StringBuilder out, Collection<WorldMetrics> worlds, String name, String help,
+                                Function<WorldMetrics, LatencyHistogram> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+
+        for (WorldMetrics m : worlds) {
+            LatencyHistogram.Snapshot s = value.apply(m).snapshot();
+            String world = escape(m.world());
+
+            for (double q : new double[]{0.5, 0.9, 0.99, 1.0}) {
+                long nanos = (q == 1.0) ? s.maxNanos() : s.percentile(q);
+                out.append(name).append("{world=\"").append(world).append("\",quantile=\"").append(q).append("\"} ")
+                        .append(seconds(nanos)).append('\n');
+            }
+            out.append(name).append("_sum{world=\"").append(world).append("\"} ").append(seconds(s.sumNanos())).append('\n');
+            out.append(name).append("_count{world=\"").append(world).append("\"} ").append(s.count()).append('\n');
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.enderfy.enderskygrid.metrics;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.model.MetricsSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class PrometheusExporter {
+
+    private final Object dumpLock = new Object();
+
+    private BukkitTask task;
+    private volatile Path target;
+
+    public void apply(MetricsSettings settings) {
+        stop();
+
+        if (settings == null || !settings.enabled() || settings.prometheusFile().isEmpty()) return;
+
+        EnderSkyGrid plugin = EnderSkyGrid.get();
+        target = new File(plugin.getDataFolder(), settings.prometheusFile()).toPath();
+
+        long period = settings.dumpSeconds() * 20L;
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::dump, period, period);
+    }
+
+    public void stop() {
+        boolean running = task != null;
+        if (running) {
+            task.cancel();
+            task = null;
+        }
+
+        synchronized (dumpLock) {
+            if (running) write(target);
+            target = null;
+        }
+    }
+
+    private void dump() {
+        synchronized (dumpLock) {
+            write(target);
+        }
+    }
+
+    private void write(Path file) {
+        if (file == null) return;
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, GenerationMetrics.toPrometheus(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Could not write metrics to " + file + ": " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.enderfy.enderskygrid.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class WorldMetrics {
+
+    private final String world;
+
+    final LongAdder chunks = new LongAdder();
+    final LongAdder cells = new LongAdder();
+    final LongAdder chests = new LongAdder();
+    final LongAdder spawners = new LongAdder();
+    final LongAdder lootRolls = new LongAdder();
+    final LongAdder lootItems = new LongAdder();
+    final LongAdder lootPrefetched = new LongAdder();
+    final LongAdder chestCapRerolls = new LongAdder();
+    final LongAdder spawnerCapRerolls = new LongAdder();
+    final LongAdder spawnsThrottled = new LongAdder();
+    final LongAdder spawnsPaused = new LongAdder();
+
+    final LatencyHistogram generateNoise = new LatencyHistogram();
+    final LatencyHistogram populate = new LatencyHistogram();
+    final LatencyHistogram lootFill = new LatencyHistogram();
+
+    WorldMetrics(String world) {
+        this.world = world;
+    }
+
+    public String world() {
+        return world;
+    }
+
+    public void chunkGenerated(int cellsPlaced, long nanos) {
+        chunks.increment();
+        cells.add(cellsPlaced);
+        generateNoise.record(nanos);
+    }
+
+    public void chunkPopulated(int chestsMarked, int spawnersMarked, long nanos) {
+        if (chestsMarked > 0) chests.add(chestsMarked);
+        if (spawnersMarked > 0) spawners.add(spawnersMarked);
+        populate.record(nanos);
+    }
+
+    public void tileCapped(int chestRerolls, int spawnerRerolls) {
+        if (chestRerolls > 0) chestCapRerolls.add(chestRerolls);
+        if (spawnerRerolls > 0) spawnerCapRerolls.add(spawnerRerolls);
+    }
+
+    public void spawnerHeld(boolean paused) {
+        if (paused) spawnsPaused.increment();
+        else spawnsThrottled.increment();
+    }
+
+    public void lootRolled(int items, boolean prefetched, long nanos) {
+        lootRolls.increment();
+        if (prefetched) lootPrefetched.increment();
+        lootItems.add(items);
+        lootFill.record(nanos);
+    }
+
+    void reset() {
+        chunks.reset();
+        cells.reset();
+        chests.reset();
+        spawners.reset();
+        lootRolls.reset();
+        lootItems.reset();
+        lootPrefetched.reset();
+        chestCapRerolls.reset();
+        spawnerCapRerolls.reset();
+        spawnsThrottled.reset();
+        spawnsPaused.reset();
+        generateNoise.reset();
+        populate.reset();
+        lootFill.reset();
+    }
+}
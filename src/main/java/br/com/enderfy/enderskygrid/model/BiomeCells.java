@@ -0,0 +1,8 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record BiomeCells(
+        boolean enabled,
+        int cellSize
+) {
+    public static final BiomeCells DISABLED = new BiomeCells(false, 96);
+}
@@ -0,0 +1,63 @@
+package br.com.enderfy.enderskygrid.model;
+
+import org.bukkit.block.Biome;
+
+import java.util.Locale;
+import java.util.Map;
+
+public final class BiomePalettes {
+
+    private final Map<String, GridPalette> byName;
+    private final Map<Biome, GridPalette> byBiome;
+    private final GridPalette[] byOrdinal;
+    private final GridPalette fallback;
+
+    public BiomePalettes(Map<String, GridPalette> byName, Map<Biome, GridPalette> byBiome, String defaultBiome) {
+        this.byName = Map.copyOf(byName);
+        this.byBiome = Map.copyOf(byBiome);
+
+        int size = 0;
+        for (Biome biome : this.byBiome.keySet()) size = Math.max(size, biome.ordinal() + 1);
+
+        this.byOrdinal = new GridPalette[size];
+        for (Map.Entry<Biome, GridPalette> e : this.byBiome.entrySet()) {
+            if (!e.getValue().isEmpty()) byOrdinal[e.getKey().ordinal()] = e.getValue();
+        }
+
+        GridPalette def = (defaultBiome == null) ? null : this.byName.get(defaultBiome.toUpperCase(Locale.ROOT));
+        this.fallback = (def == null) ? GridPalette.empty() : def;
+    }
+
+    public GridPalette get(Biome biome) {
+        if (biome == null) return fallback;
+
+        int ordinal = biome.ordinal();
+        if (ordinal < 0 || ordinal >= byOrdinal.length) return fallback;
+
+        GridPalette palette = byOrdinal[ordinal];
+        return (palette == null) ? fallback : palette;
+    }
+
+    public GridPalette get(String biomeName) {
+        if (biomeName == null) return fallback;
+
+        GridPalette palette = byName.get(biomeName.toUpperCase(Locale.ROOT));
+        return (palette == null || palette.isEmpty()) ? fallback : palette;
+    }
+
+    public GridPalette fallback() {
+        return fallback;
+    }
+
+    public boolean isEmpty() {
+        return byName.isEmpty();
+    }
+
+    public Map<String, GridPalette> byName() {
+        return byName;
+    }
+
+    public Map<Biome, GridPalette> asMap() {
+        return byBiome;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record GridLayer(
+        String name,
+        int spacing,
+        int minY,
+        int maxY,
+        BiomePalettes palettes,
+        NoiseMask noise,
+        GridLayout layout
+) {
+    public GridLayer(String name, int spacing, int minY, int maxY, BiomePalettes palettes, NoiseMask noise) {
+        this(name, spacing, minY, maxY, palettes, noise, new GridLayout(spacing, minY, maxY));
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.enderfy.enderskygrid.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class GridLayout {
+
+    private final int spacing;
+    private final int minY;
+    private final int maxY;
+    private final int period;
+
+    private final Map<Long, AtomicReferenceArray<int[]>> templates = new ConcurrentHashMap<>();
+
+    public GridLayout(int spacing, int minY, int maxY) {
+        this.spacing = Math.max(1, spacing);
+        this.minY = minY;
+        this.maxY = maxY;
+        this.period = this.spacing / gcd(this.spacing, 16);
+    }
+
+    public int period() {
+        return period;
+    }
+
+    public int[] cells(int chunkX, int chunkZ, int minHeight, int maxHeight) {
+        long key = ((long) minHeight << 32) | (maxHeight & 0xFFFFFFFFL);
+        AtomicReferenceArray<int[]> t = templates.get(key);
+        if (t == null) t = templates.computeIfAbsent(key, k -> new AtomicReferenceArray<>(period * period));
+
+        int slot = Math.floorMod(chunkX, period) * period + Math.floorMod(chunkZ, period);
+        int[] cells = t.get(slot);
+        if (cells == null) {
+            cells = build(chunkX << 4, chunkZ << 4, minHeight, maxHeight);
+            t.set(slot, cells);
+        }
+        return cells;
+    }
+
+    public boolean covers(int x, int z) {
+        return Math.floorMod(x, spacing) == 0 && Math.floorMod(z, spacing) == 0;
+    }
+
+    public boolean contains(int x, int y, int z, int minHeight, int maxHeight) {
+        return y >= Math.max(minY, minHeight) && y <= Math.min(maxY, maxHeight - 1)
+                && Math.floorMod(y, spacing) == 0 && covers(x, z);
+    }
+
+    public static int x(int cell) {
+        return cell & 15;
+    }
+
+    public static int z(int cell) {
+        return (cell >> 4) & 15;
+    }
+
+    public static int y(int cell) {
+        return cell >> 8;
+    }
+
+    public static int column(int cell) {
+        return cell & 0xFF;
+    }
+
+    private int[] build(int baseX, int baseZ, int minHeight, int maxHeight) {
+        int lowY = Math.max(minY, minHeight);
+        int highY = Math.min(maxY, maxHeight - 1);
+        if (lowY > highY) return new int[0];
+
+        int xStart = alignToChunk(baseX, spacing);
+        int zStart = alignToChunk(baseZ, spacing);
+        int yStart = alignUp(lowY, spacing);
+        if (xStart > 15 || zStart > 15 || yStart > highY) return new int[0];
+
+        int columns = ((15 - xStart) / spacing + 1) * ((15 - zStart) / spacing + 1);
+        int perColumn = (highY - yStart) / spacing + 1;
+
+        int[] out = new int[columns * perColumn];
+        int i = 0;
+
+        for (int x = xStart; x < 16; x += spacing) {
+            for (int z = zStart; z < 16; z += spacing) {
+                for (int y = yStart; y <= highY; y += spacing) {
+                    out[i++] = (y << 8) | (z << 4) | x;
+                }
+            }
+        }
+        return out;
+    }
+
+    public static int alignToChunk(int base, int spacing) {
+        int mod = base % spacing;
+        if (mod < 0) mod += spacing;
+        return (mod == 0) ? 0 : (spacing - mod);
+    }
+
+    public static int alignUp(int value, int spacing) {
+        int mod = value % spacing;
+        if (mod < 0) mod += spacing;
+        return (mod == 0) ? value : (value + (spacing - mod));
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
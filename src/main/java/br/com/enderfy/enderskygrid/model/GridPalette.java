@@ -0,0 +1,147 @@
+package br.com.enderfy.enderskygrid.model;
+
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class GridPalette {
+
+    private static final GridPalette EMPTY = new GridPalette(new GridEntry[0], new BlockData[0], new double[0], 0.0);
+
+    private final GridEntry[] entries;
+    private final BlockData[] blockData;
+    private final List<GridEntry> entryList;
+    private final double[] cumulative;
+    private final double total;
+
+    private final int[] plainIndex;
+    private final double[] plainCumulative;
+    private final double plainTotal;
+
+    private GridPalette(GridEntry[] entries, BlockData[] blockData, double[] cumulative, double total) {
+        this.entries = entries;
+        this.blockData = blockData;
+        this.entryList = List.of(entries);
+        this.cumulative = cumulative;
+        this.total = total;
+
+        int plain = 0;
+        for (GridEntry e : entries) if (!e.isChest() && !e.isSpawner()) plain++;
+
+        this.plainIndex = new int[plain];
+        this.plainCumulative = new double[plain];
+
+        double sum = 0.0;
+        int j = 0;
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].isChest() || entries[i].isSpawner()) continue;
+            sum += entries[i].weight();
+            plainIndex[j] = i;
+            plainCumulative[j] = sum;
+            j++;
+        }
+        this.plainTotal = sum;
+    }
+
+    public static GridPalette empty() {
+        return EMPTY;
+    }
+
+    public static GridPalette compile(List<GridEntry> source) {
+        return compile(source, false);
+    }
+
+    public static GridPalette compile(List<GridEntry> source, boolean resolveBlockData) {
+        if (source == null || source.isEmpty()) return EMPTY;
+
+        List<GridEntry> kept = new ArrayList<>(source.size());
+        double[] acc = new double[source.size()];
+        double sum = 0.0;
+
+        for (GridEntry e : source) {
+            double w = Math.max(0.0, e.weight());
+            if (w <= 0) continue;
+
+            sum += w;
+            acc[kept.size()] = sum;
+            kept.add(e);
+        }
+
+        if (kept.isEmpty() || sum <= 0) return EMPTY;
+
+        double[] cumulative = new double[kept.size()];
+        System.arraycopy(acc, 0, cumulative, 0, cumulative.length);
+
+        GridEntry[] entries = kept.toArray(new GridEntry[0]);
+        BlockData[] blockData = new BlockData[entries.length];
+        if (resolveBlockData) {
+            for (int i = 0; i < entries.length; i++) blockData[i] = entries[i].material().createBlockData();
+        }
+
+        return new GridPalette(entries, blockData, cumulative, sum);
+    }
+
+    public GridEntry pick(double roll01) {
+        int index = pickIndex(roll01);
+        return (index < 0) ? null : entries[index];
+    }
+
+    public int pickIndex(double roll01) {
+        if (entries.length == 0) return -1;
+
+        double roll = roll01 * total;
+
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        if (roll > cumulative[hi]) return -1;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < roll) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    public int pickPlainIndex(double roll01) {
+        if (plainIndex.length == 0) return -1;
+
+        double roll = roll01 * plainTotal;
+
+        int lo = 0;
+        int hi = plainCumulative.length - 1;
+        if (roll > plainCumulative[hi]) return -1;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (plainCumulative[mid] < roll) lo = mid + 1;
+            else hi = mid;
+        }
+        return plainIndex[lo];
+    }
+
+    public GridEntry entry(int index) {
+        return entries[index];
+    }
+
+    public BlockData blockData(int index) {
+        return blockData[index];
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public double totalWeight() {
+        return total;
+    }
+
+    public List<GridEntry> entries() {
+        return entryList;
+    }
+}
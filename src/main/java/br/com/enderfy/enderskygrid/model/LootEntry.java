@@ -1,8 +1,10 @@
 package br.com.enderfy.enderskygrid.model;
 
+import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
 public record LootEntry(
+        Material material,
         ItemStack template,
         int weight,
         int minAmount,
@@ -0,0 +1,67 @@
+package br.com.enderfy.enderskygrid.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public final class LootPoolPlan {
+
+    private final LootTable[] tables;
+    private final int[] cumulative;
+    private final int total;
+    private final LootTable fallback;
+
+    private LootPoolPlan(LootTable[] tables, int[] cumulative, int total, LootTable fallback) {
+        this.tables = tables;
+        this.cumulative = cumulative;
+        this.total = total;
+        this.fallback = fallback;
+    }
+
+    public static LootPoolPlan compile(List<String> pool, Map<String, LootTableDef> all) {
+        if (all == null || all.isEmpty()) return new LootPoolPlan(new LootTable[0], new int[0], 0, null);
+
+        List<LootTableDef> defs = new ArrayList<>();
+        for (String name : pool) {
+            LootTableDef def = all.get(name);
+            if (def != null && def.weight() > 0 && def.table() != null) defs.add(def);
+        }
+
+        if (defs.isEmpty()) {
+            for (String name : pool) {
+                LootTableDef def = all.get(name);
+                if (def != null && def.table() != null) return new LootPoolPlan(new LootTable[0], new int[0], 0, def.table());
+            }
+            LootTableDef def = all.get("overworld");
+            return new LootPoolPlan(new LootTable[0], new int[0], 0, (def == null) ? null : def.table());
+        }
+
+        LootTable[] tables = new LootTable[defs.size()];
+        int[] cumulative = new int[defs.size()];
+        int sum = 0;
+
+        for (int i = 0; i < defs.size(); i++) {
+            sum += Math.max(0, defs.get(i).weight());
+            tables[i] = defs.get(i).table();
+            cumulative[i] = sum;
+        }
+
+        return new LootPoolPlan(tables, cumulative, sum, tables[0]);
+    }
+
+    public LootTable pick(Random r) {
+        if (total <= 0) return fallback;
+
+        int roll = r.nextInt(total) + 1;
+
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < roll) lo = mid + 1;
+            else hi = mid;
+        }
+        return tables[lo];
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.enderfy.enderskygrid.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class LootPoolRegistry {
+
+    private final int version;
+    private final List<List<String>> pools;
+    private final Map<List<String>, Integer> ids;
+    private final Map<String, LootTableDef> lootTables;
+    private final LootPoolPlan[] plans;
+
+    public LootPoolRegistry(int version, List<List<String>> pools, Map<String, LootTableDef> lootTables) {
+        this.version = version;
+        this.pools = List.copyOf(pools);
+        this.lootTables = lootTables;
+
+        Map<List<String>, Integer> byPool = new HashMap<>();
+        for (int i = 0; i < this.pools.size(); i++) byPool.putIfAbsent(this.pools.get(i), i);
+        this.ids = byPool;
+
+        this.plans = new LootPoolPlan[this.pools.size()];
+        for (int i = 0; i < plans.length; i++) plans[i] = LootPoolPlan.compile(this.pools.get(i), lootTables);
+    }
+
+    public int idOf(List<String> pool) {
+        Integer id = ids.get(pool);
+        return (id == null) ? -1 : id;
+    }
+
+    public List<String> pool(int id) {
+        return (id < 0 || id >= pools.size()) ? null : pools.get(id);
+    }
+
+    public LootPoolPlan plan(int id) {
+        return (id < 0 || id >= plans.length) ? null : plans[id];
+    }
+
+    public LootPoolPlan plan(List<String> pool) {
+        int id = idOf(pool);
+        return (id >= 0) ? plans[id] : LootPoolPlan.compile(pool, lootTables);
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public List<List<String>> pools() {
+        return pools;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record LootPrefetchSettings(
+        boolean enabled,
+        int radius,
+        int intervalTicks
+) {}
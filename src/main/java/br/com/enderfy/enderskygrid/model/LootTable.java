@@ -5,56 +5,136 @@ import org.bukkit.inventory.ItemStack;
 import java.util.*;
 
 public class LootTable {
+
+    private static final int DIRECT_LOOKUP_LIMIT = 4096;
+
     private final int minRolls;
     private final int maxRolls;
     private final List<LootEntry> entries;
     private final int totalWeight;
 
+    private final LootEntry[] weighted;
+    private final int[] cumulative;
+    private final short[] lookup;
+    private final Map<LootEntry, ItemStack[]> prototypes;
+
     public LootTable(int minRolls, int maxRolls, List<LootEntry> entries) {
         this.minRolls = Math.max(0, minRolls);
         this.maxRolls = Math.max(this.minRolls, maxRolls);
         this.entries = List.copyOf(entries);
 
+        List<LootEntry> kept = new ArrayList<>(this.entries.size());
+        int[] acc = new int[this.entries.size()];
         int sum = 0;
-        for (LootEntry e : this.entries) sum += Math.max(0, e.weight());
+
+        for (LootEntry e : this.entries) {
+            int w = Math.max(0, e.weight());
+            if (w == 0) continue;
+
+            sum += w;
+            acc[kept.size()] = sum;
+            kept.add(e);
+        }
+
         this.totalWeight = sum;
+        this.weighted = kept.toArray(new LootEntry[0]);
+        this.cumulative = Arrays.copyOf(acc, weighted.length);
+        this.lookup = (sum > 0 && sum <= DIRECT_LOOKUP_LIMIT && weighted.length <= Short.MAX_VALUE) ? buildLookup() : null;
+
+        Map<LootEntry, ItemStack[]> byEntry = new IdentityHashMap<>();
+        for (LootEntry e : weighted) {
+            if (e.template() != null) byEntry.put(e, buildPrototypes(e));
+        }
+        this.prototypes = byEntry;
     }
 
     public List<ItemStack> roll(Random r) {
-        if (entries.isEmpty() || totalWeight <= 0 || maxRolls <= 0) return List.of();
+        LootEntry[] picked = new LootEntry[maxRolls];
+        int[] amounts = new int[maxRolls];
+
+        int count = rollInto(r, picked, amounts);
+        if (count == 0) return List.of();
+
+        List<ItemStack> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) out.add(item(picked[i], amounts[i]).clone());
+        return out;
+    }
+
+    public int rollInto(Random r, LootEntry[] picked, int[] amounts) {
+        if (weighted.length == 0 || totalWeight <= 0 || maxRolls <= 0) return 0;
 
         int rolls = (minRolls == maxRolls)
                 ? minRolls
                 : (minRolls + r.nextInt((maxRolls - minRolls) + 1));
 
-        List<ItemStack> out = new ArrayList<>(rolls);
+        int count = 0;
 
         for (int i = 0; i < rolls; i++) {
-            LootEntry picked = pickWeighted(r);
-            if (picked == null) continue;
+            LootEntry e = pickWeighted(r);
 
-            int minA = Math.max(1, picked.minAmount());
-            int maxA = Math.max(minA, picked.maxAmount());
+            int minA = Math.max(1, e.minAmount());
+            int maxA = Math.max(minA, e.maxAmount());
             int amount = (minA == maxA) ? minA : (minA + r.nextInt((maxA - minA) + 1));
 
-            ItemStack item = picked.template().clone();
-            item.setAmount(Math.min(64, amount));
-            out.add(item);
+            picked[count] = e;
+            amounts[count] = Math.min(64, amount);
+            count++;
         }
-        return out;
+        return count;
+    }
+
+    public ItemStack item(LootEntry entry, int amount) {
+        ItemStack[] byAmount = prototypes.get(entry);
+        if (byAmount != null && amount > 0 && amount < byAmount.length && byAmount[amount] != null) return byAmount[amount];
+
+        ItemStack item = (entry.template() == null) ? new ItemStack(entry.material(), 1) : entry.template().clone();
+        item.setAmount(amount);
+        return item;
+    }
+
+    public int maxRolls() {
+        return maxRolls;
+    }
+
+    public List<LootEntry> entries() {
+        return entries;
     }
 
     private LootEntry pickWeighted(Random r) {
-        int roll = r.nextInt(totalWeight) + 1;
-        int acc = 0;
+        int roll = r.nextInt(totalWeight);
+        if (lookup != null) return weighted[lookup[roll]];
 
-        for (LootEntry e : entries) {
-            int w = Math.max(0, e.weight());
-            if (w == 0) continue;
+        int lo = 0;
+        int hi = cumulative.length - 1;
 
-            acc += w;
-            if (roll <= acc) return e;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] <= roll) lo = mid + 1;
+            else hi = mid;
         }
-        return null;
+        return weighted[lo];
+    }
+
+    private short[] buildLookup() {
+        short[] out = new short[totalWeight];
+        int from = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            Arrays.fill(out, from, cumulative[i], (short) i);
+            from = cumulative[i];
+        }
+        return out;
+    }
+
+    private static ItemStack[] buildPrototypes(LootEntry e) {
+        int minA = Math.max(1, e.minAmount());
+        int maxA = Math.min(64, Math.max(minA, e.maxAmount()));
+
+        ItemStack[] out = new ItemStack[maxA + 1];
+        for (int amount = minA; amount <= maxA; amount++) {
+            ItemStack item = e.template().clone();
+            item.setAmount(amount);
+            out[amount] = item;
+        }
+        return out;
     }
 }
@@ -0,0 +1,7 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record MetricsSettings(
+        boolean enabled,
+        String prometheusFile,
+        int dumpSeconds
+) {}
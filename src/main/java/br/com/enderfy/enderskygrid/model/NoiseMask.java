@@ -0,0 +1,6 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record NoiseMask(
+        int scale,
+        double density
+) {}
@@ -0,0 +1,8 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record PregenSettings(
+        int maxInFlight,
+        double targetMspt,
+        int checkpointSeconds,
+        int reportSeconds
+) {}
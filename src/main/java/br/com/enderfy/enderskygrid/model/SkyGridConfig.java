@@ -8,5 +8,10 @@ public record SkyGridConfig(
         WorldSettings overworld,
         WorldSettings nether,
         WorldSettings end,
-        Map<String, LootTableDef> lootTables
+        Map<String, LootTableDef> lootTables,
+        LootPoolRegistry lootPools,
+        PregenSettings pregen,
+        MetricsSettings metrics,
+        SpawnerSettings spawners,
+        LootPrefetchSettings lootPrefetch
 ) {}
@@ -0,0 +1,11 @@
+package br.com.enderfy.enderskygrid.model;
+
+public record SpawnerSettings(
+        boolean enabled,
+        int maxSpawnsPerTick,
+        int initialDelayMin,
+        int initialDelayMax,
+        int maxChunkEntities,
+        int checkIntervalTicks,
+        int backoffTicks
+) {}
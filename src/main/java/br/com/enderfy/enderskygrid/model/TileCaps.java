@@ -0,0 +1,44 @@
+package br.com.enderfy.enderskygrid.model;
+
+import br.com.enderfy.enderskygrid.generator.GridRandom;
+
+public record TileCaps(
+        int chestsPerChunk,
+        int spawnersPerChunk,
+        int chestsPerRegion,
+        int spawnersPerRegion
+) {
+    public static final TileCaps NONE = new TileCaps(-1, -1, -1, -1);
+
+    private static final int REGION_CHUNKS = 32 * 32;
+
+    public boolean enabled() {
+        return chestsPerChunk >= 0 || spawnersPerChunk >= 0 || chestsPerRegion >= 0 || spawnersPerRegion >= 0;
+    }
+
+    public int chestLimit(long seed, int chunkX, int chunkZ) {
+        return limit(chestsPerChunk, chestsPerRegion, seed, chunkX, chunkZ);
+    }
+
+    public int spawnerLimit(long seed, int chunkX, int chunkZ) {
+        return limit(spawnersPerChunk, spawnersPerRegion, seed, chunkX, chunkZ);
+    }
+
+    private static int limit(int perChunk, int perRegion, long seed, int chunkX, int chunkZ) {
+        int limit = (perChunk < 0) ? Integer.MAX_VALUE : perChunk;
+        if (perRegion >= 0) limit = Math.min(limit, regionShare(perRegion, seed, chunkX, chunkZ));
+        return limit;
+    }
+
+    private static int regionShare(int perRegion, long seed, int chunkX, int chunkZ) {
+        int base = perRegion / REGION_CHUNKS;
+        int extra = perRegion % REGION_CHUNKS;
+        if (extra == 0) return base;
+
+        int offset = GridRandom.toInt(GridRandom.hash(seed ^ GridRandom.REGION_CAP_SALT, chunkX >> 5, 0, chunkZ >> 5), REGION_CHUNKS);
+
+        int local = ((chunkX & 31) << 5) | (chunkZ & 31);
+        int rank = (local * 0x2C5 + offset) & (REGION_CHUNKS - 1);
+        return (rank < extra) ? base + 1 : base;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.enderfy.enderskygrid.model;
+
+import org.bukkit.Material;
+
+public record TileIntent(
+        int x,
+        int y,
+        int z,
+        Material material,
+        GridPalette palette
+) {}
@@ -1,14 +1,21 @@
 package br.com.enderfy.enderskygrid.model;
 
-import org.bukkit.block.Biome;
-
 import java.util.List;
-import java.util.Map;
 
 public record WorldSettings(
         int spacing,
         int minY,
         int maxY,
-        Biome defaultBiome,
-        Map<Biome, List<GridEntry>> biomesMaterial
-) {}
+        boolean legacyRandom,
+        String defaultBiome,
+        BiomePalettes palettes,
+        TileCaps tileCaps,
+        List<GridLayer> layers,
+        BiomeCells biomeCells,
+        boolean fixedSpawn
+) {
+    public WorldSettings(int spacing, int minY, int maxY, boolean legacyRandom, String defaultBiome, BiomePalettes palettes, TileCaps tileCaps) {
+        this(spacing, minY, maxY, legacyRandom, defaultBiome, palettes, tileCaps,
+                List.of(new GridLayer("default", spacing, minY, maxY, palettes, null)), BiomeCells.DISABLED, false);
+    }
+}
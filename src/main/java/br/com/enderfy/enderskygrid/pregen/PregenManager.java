@@ -0,0 +1,103 @@
+package br.com.enderfy.enderskygrid.pregen;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.model.PregenSettings;
+import br.com.enderfy.enderskygrid.utils.TextUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.*;
+
+public class PregenManager {
+
+    private final Map<String, PregenTask> tasks = new LinkedHashMap<>();
+    private final Map<String, CommandSender> owners = new HashMap<>();
+    private BukkitTask ticker;
+
+    public boolean isRunning(String worldName) {
+        return tasks.containsKey(worldName);
+    }
+
+    public PregenTask start(World world, int radiusBlocks, PregenSettings settings, CommandSender owner) {
+        Location spawn = world.getSpawnLocation();
+        int radius = Math.max(0, (radiusBlocks + 15) >> 4);
+
+        PregenTask task = PregenTask.resumeOrStart(
+                world, checkpointFile(world), settings,
+                spawn.getBlockX() >> 4, spawn.getBlockZ() >> 4, radius
+        );
+
+        tasks.put(world.getName(), task);
+        owners.put(world.getName(), owner);
+
+        if (ticker == null) ticker = Bukkit.getScheduler().runTaskTimer(EnderSkyGrid.get(), this::tick, 1L, 1L);
+        return task;
+    }
+
+    public boolean stop(String worldName) {
+        PregenTask task = tasks.remove(worldName);
+        owners.remove(worldName);
+        if (task == null) return false;
+
+        task.stop();
+        cancelIfIdle();
+        return true;
+    }
+
+    public void stopAll() {
+        for (PregenTask task : tasks.values()) task.stop();
+        tasks.clear();
+        owners.clear();
+        cancelIfIdle();
+    }
+
+    public Collection<PregenTask> tasks() {
+        return Collections.unmodifiableCollection(tasks.values());
+    }
+
+    private void tick() {
+        Iterator<Map.Entry<String, PregenTask>> it = tasks.entrySet().iterator();
+
+        while (it.hasNext()) {
+            Map.Entry<String, PregenTask> e = it.next();
+            PregenTask task = e.getValue();
+
+            task.tick();
+
+            if (task.isFinished()) {
+                String report = task.status();
+                task.deleteCheckpoint();
+                task.release();
+                notify(owners.remove(e.getKey()), "<green>Pregen finished. " + report);
+                it.remove();
+            } else if (task.shouldReport()) {
+                notify(owners.get(e.getKey()), "<gray>" + task.report());
+            }
+        }
+
+        cancelIfIdle();
+    }
+
+    private void notify(CommandSender owner, String message) {
+        EnderSkyGrid.get().getLogger().info(TextUtils.stripColorAndMiniMessage(message));
+        if (owner != null && !(owner instanceof ConsoleCommandSender)) {
+            owner.sendMessage(TextUtils.of(message).build());
+        }
+    }
+
+    private void cancelIfIdle() {
+        if (tasks.isEmpty() && ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+    }
+
+    private static File checkpointFile(World world) {
+        return new File(new File(EnderSkyGrid.get().getDataFolder(), "pregen"), world.getName() + ".yml");
+    }
+}
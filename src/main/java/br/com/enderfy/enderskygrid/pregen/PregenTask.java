@@ -0,0 +1,244 @@
+package br.com.enderfy.enderskygrid.pregen;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.generator.SkyGridGenerator;
+import br.com.enderfy.enderskygrid.model.PregenSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.TreeSet;
+
+public class PregenTask {
+
+    private final World world;
+    private final File checkpointFile;
+    private final PregenSettings settings;
+
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final long total;
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    private long nextIndex;
+    private long done;
+    private long generated;
+    private int window;
+    private boolean stopped;
+    private boolean released;
+
+    private final long startedAt;
+    private final long doneAtStart;
+    private final long noiseChunksAtStart;
+    private final long noiseNanosAtStart;
+
+    private long lastCheckpointAt;
+    private long lastReportAt;
+    private long doneAtLastReport;
+
+    public PregenTask(World world, File checkpointFile, PregenSettings settings, int centerX, int centerZ, int radius, long startIndex) {
+        this.world = world;
+        this.checkpointFile = checkpointFile;
+        this.settings = settings;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.total = (2L * radius + 1) * (2L * radius + 1);
+
+        this.nextIndex = Math.max(0, Math.min(total, startIndex));
+        this.done = this.nextIndex;
+        this.window = Math.max(1, settings.maxInFlight() / 4);
+
+        long now = System.currentTimeMillis();
+        this.startedAt = now;
+        this.doneAtStart = this.done;
+        this.lastCheckpointAt = now;
+        this.lastReportAt = now;
+        this.doneAtLastReport = this.done;
+
+        SkyGridGenerator generator = generator();
+        if (generator != null) generator.timeNoise(true);
+        this.noiseChunksAtStart = (generator == null) ? 0 : generator.noiseChunks();
+        this.noiseNanosAtStart = (generator == null) ? 0 : generator.noiseNanos();
+    }
+
+    public static PregenTask resumeOrStart(World world, File checkpointFile, PregenSettings settings, int centerX, int centerZ, int radius) {
+        long start = 0;
+
+        if (checkpointFile.isFile()) {
+            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(checkpointFile);
+            boolean same = yaml.getInt("center-x") == centerX
+                    && yaml.getInt("center-z") == centerZ
+                    && yaml.getInt("radius") == radius;
+            if (same) start = yaml.getLong("index", 0);
+        }
+
+        return new PregenTask(world, checkpointFile, settings, centerX, centerZ, radius, start);
+    }
+
+    public void tick() {
+        if (stopped) return;
+
+        adjustWindow();
+
+        while (inFlight.size() < window && nextIndex < total) {
+            long index = nextIndex++;
+            long[] offset = spiral(index);
+            int x = centerX + (int) offset[0];
+            int z = centerZ + (int) offset[1];
+
+            if (world.isChunkGenerated(x, z)) {
+                done++;
+                continue;
+            }
+
+            inFlight.add(index);
+            world.getChunkAtAsync(x, z, true).whenComplete((chunk, error) -> {
+                inFlight.remove(index);
+                done++;
+                if (error == null) generated++;
+            });
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastCheckpointAt >= settings.checkpointSeconds() * 1000L) {
+            checkpoint();
+            lastCheckpointAt = now;
+        }
+    }
+
+    private void adjustWindow() {
+        double mspt = Bukkit.getAverageTickTime();
+        if (mspt > settings.targetMspt()) {
+            window = Math.max(1, window / 2);
+        } else if (mspt < settings.targetMspt() * 0.75) {
+            window = Math.min(settings.maxInFlight(), window + 1);
+        }
+    }
+
+    public boolean isFinished() {
+        return stopped || (nextIndex >= total && inFlight.isEmpty());
+    }
+
+    public void stop() {
+        stopped = true;
+        checkpoint();
+        release();
+    }
+
+    public void release() {
+        if (released) return;
+        released = true;
+
+        SkyGridGenerator generator = generator();
+        if (generator != null) generator.timeNoise(false);
+    }
+
+    public void checkpoint() {
+        long index = inFlight.isEmpty() ? nextIndex : inFlight.first();
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("world", world.getName());
+        yaml.set("center-x", centerX);
+        yaml.set("center-z", centerZ);
+        yaml.set("radius", radius);
+        yaml.set("index", index);
+        yaml.set("total", total);
+
+        try {
+            File parent = checkpointFile.getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("could not create " + parent);
+            }
+            yaml.save(checkpointFile);
+        } catch (IOException ex) {
+            EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Could not save pregen checkpoint for " + world.getName() + ": " + ex.getMessage());
+        }
+    }
+
+    public void deleteCheckpoint() {
+        if (checkpointFile.isFile() && !checkpointFile.delete()) {
+            EnderSkyGrid.get().getLogger().warning("[EnderSkyGrid] Could not delete pregen checkpoint " + checkpointFile);
+        }
+    }
+
+    public boolean shouldReport() {
+        return System.currentTimeMillis() - lastReportAt >= settings.reportSeconds() * 1000L;
+    }
+
+    public String status() {
+        return format(System.currentTimeMillis());
+    }
+
+    public String report() {
+        long now = System.currentTimeMillis();
+        String out = format(now);
+
+        lastReportAt = now;
+        doneAtLastReport = done;
+        return out;
+    }
+
+    private String format(long now) {
+        double interval = Math.max(1, now - lastReportAt) / 1000.0;
+        double recentRate = (done - doneAtLastReport) / interval;
+        double overallRate = (done - doneAtStart) / (Math.max(1, now - startedAt) / 1000.0);
+
+        double avgNoiseMs = 0.0;
+        SkyGridGenerator generator = generator();
+        if (generator != null) {
+            long chunks = generator.noiseChunks() - noiseChunksAtStart;
+            long nanos = generator.noiseNanos() - noiseNanosAtStart;
+            if (chunks > 0) avgNoiseMs = nanos / (double) chunks / 1_000_000.0;
+        }
+
+        long remaining = total - done;
+        String eta = (overallRate <= 0) ? "?" : formatDuration((long) (remaining / overallRate));
+
+        return String.format(
+                Locale.ROOT, "%s: %d/%d (%.1f%%), %.1f chunks/s (%.1f avg), generated %d, in-flight %d/%d, generateNoise %.3f ms/chunk, MSPT %.1f, ETA %s",
+                world.getName(), done, total, done * 100.0 / total, recentRate, overallRate, generated,
+                inFlight.size(), window, avgNoiseMs, Bukkit.getAverageTickTime(), eta
+        );
+    }
+
+    public World world() {
+        return world;
+    }
+
+    private SkyGridGenerator generator() {
+        return (world.getGenerator() instanceof SkyGridGenerator generator) ? generator : null;
+    }
+
+    static long[] spiral(long n) {
+        if (n == 0) return new long[]{0, 0};
+
+        long p = n + 1;
+        long k = (long) Math.ceil((Math.sqrt((double) p) - 1) / 2);
+        while ((2 * k - 1) * (2 * k - 1) >= p) k--;
+        while ((2 * k + 1) * (2 * k + 1) < p) k++;
+
+        long t = 2 * k + 1;
+        long m = t * t;
+        t--;
+
+        if (p >= m - t) return new long[]{k - (m - p), -k};
+        m -= t;
+        if (p >= m - t) return new long[]{-k, -k + (m - p)};
+        m -= t;
+        if (p >= m - t) return new long[]{-k + (m - p), k};
+        return new long[]{k, k - (m - p - t)};
+    }
+
+    private static String formatDuration(long seconds) {
+        long h = seconds / 3600;
+        long m = (seconds % 3600) / 60;
+        long s = seconds % 60;
+        return (h > 0) ? String.format(Locale.ROOT, "%dh%02dm%02ds", h, m, s) : String.format(Locale.ROOT, "%dm%02ds", m, s);
+    }
+}
@@ -0,0 +1,266 @@
+package br.com.enderfy.enderskygrid.spawner;
+
+import br.com.enderfy.enderskygrid.EnderSkyGrid;
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.generator.GridRandom;
+import br.com.enderfy.enderskygrid.generator.SkyGridKeys;
+import br.com.enderfy.enderskygrid.metrics.GenerationMetrics;
+import br.com.enderfy.enderskygrid.metrics.WorldMetrics;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import br.com.enderfy.enderskygrid.model.SpawnerSettings;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.CreatureSpawner;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.SpawnerSpawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+public class SpawnerManager implements Listener {
+
+    private final Map<UUID, Map<Long, Integer>> spawnersByChunk = new HashMap<>();
+    private final Map<UUID, Map<Long, Integer>> mobsByChunk = new HashMap<>();
+    private final Map<UUID, Map<UUID, Long>> mobOrigins = new HashMap<>();
+    private final Map<UUID, Set<Long>> paused = new HashMap<>();
+    private final List<Block> backoff = new ArrayList<>();
+
+    private BukkitTask ticker;
+    private List<String> indexedWorlds = List.of();
+    private int spawnsThisTick;
+    private long ticks;
+
+    public void apply(SkyGridConfig config) {
+        boolean enabled = config != null && config.spawners().enabled();
+
+        if (!enabled) {
+            stop();
+            return;
+        }
+
+        if (ticker != null && config.worlds().equals(indexedWorlds)) return;
+        if (ticker == null) ticker = Bukkit.getScheduler().runTaskTimer(EnderSkyGrid.get(), this::tick, 1L, 1L);
+
+        spawnersByChunk.clear();
+        mobsByChunk.clear();
+        mobOrigins.clear();
+        paused.clear();
+        indexedWorlds = config.worlds();
+        for (World world : Bukkit.getWorlds()) {
+            if (!config.worlds().contains(world.getName())) continue;
+            for (Chunk chunk : world.getLoadedChunks()) index(chunk);
+            for (Entity entity : world.getEntities()) track(entity);
+        }
+    }
+
+    public void stop() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        spawnersByChunk.clear();
+        mobsByChunk.clear();
+        mobOrigins.clear();
+        paused.clear();
+        backoff.clear();
+        indexedWorlds = List.of();
+    }
+
+    public boolean active() {
+        return ticker != null;
+    }
+
+    public int indexedSpawners() {
+        int total = 0;
+        for (Map<Long, Integer> chunks : spawnersByChunk.values()) {
+            for (int count : chunks.values()) total += count;
+        }
+        return total;
+    }
+
+    public int trackedMobs() {
+        int total = 0;
+        for (Map<UUID, Long> mobs : mobOrigins.values()) total += mobs.size();
+        return total;
+    }
+
+    public int pausedChunks() {
+        int total = 0;
+        for (Set<Long> chunks : paused.values()) total += chunks.size();
+        return total;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (ticker == null) return;
+
+        SkyGridConfig config = ConfigManager.get();
+        if (config == null || !config.worlds().contains(event.getWorld().getName())) return;
+
+        index(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        UUID world = event.getWorld().getUID();
+        long key = event.getChunk().getChunkKey();
+
+        Map<Long, Integer> chunks = spawnersByChunk.get(world);
+        if (chunks != null) chunks.remove(key);
+
+        Set<Long> pausedChunks = paused.get(world);
+        if (pausedChunks != null) pausedChunks.remove(key);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        spawnersByChunk.remove(event.getWorld().getUID());
+        mobsByChunk.remove(event.getWorld().getUID());
+        mobOrigins.remove(event.getWorld().getUID());
+        paused.remove(event.getWorld().getUID());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawnerSpawned(SpawnerSpawnEvent event) {
+        if (ticker == null) return;
+
+        CreatureSpawner spawner = event.getSpawner();
+        if (spawner == null || !spawner.getPersistentDataContainer().has(SkyGridKeys.SPAWNER, PersistentDataType.BYTE)) return;
+
+        Entity entity = event.getEntity();
+        entity.getPersistentDataContainer().set(SkyGridKeys.SPAWNED_IN, PersistentDataType.LONG, Chunk.getChunkKey(spawner.getX() >> 4, spawner.getZ() >> 4));
+        track(entity);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAdd(EntityAddToWorldEvent event) {
+        if (ticker == null) return;
+        track(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        UUID world = event.getWorld().getUID();
+
+        Map<UUID, Long> origins = mobOrigins.get(world);
+        Long key = (origins == null) ? null : origins.remove(event.getEntity().getUniqueId());
+        if (key == null) return;
+
+        Map<Long, Integer> mobs = mobsByChunk.get(world);
+        if (mobs != null) mobs.computeIfPresent(key, (k, count) -> (count > 1) ? count - 1 : null);
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onSpawnerSpawn(SpawnerSpawnEvent event) {
+        if (ticker == null) return;
+
+        CreatureSpawner spawner = event.getSpawner();
+        if (spawner == null) return;
+
+        World world = spawner.getWorld();
+        Map<Long, Integer> chunks = spawnersByChunk.get(world.getUID());
+        if (chunks == null) return;
+
+        long key = Chunk.getChunkKey(spawner.getX() >> 4, spawner.getZ() >> 4);
+        if (!chunks.containsKey(key)) return;
+
+        SkyGridConfig config = ConfigManager.get();
+        if (config == null) return;
+
+        Set<Long> pausedChunks = paused.get(world.getUID());
+        boolean isPaused = pausedChunks != null && pausedChunks.contains(key);
+        boolean overBudget = !isPaused && spawnsThisTick >= config.spawners().maxSpawnsPerTick();
+
+        if (!isPaused && !overBudget) {
+            spawnsThisTick++;
+            return;
+        }
+
+        event.setCancelled(true);
+        backoff.add(spawner.getBlock());
+
+        WorldMetrics metrics = GenerationMetrics.world(world.getName());
+        if (metrics != null) metrics.spawnerHeld(isPaused);
+    }
+
+    private void tick() {
+        SkyGridConfig config = ConfigManager.get();
+        if (config == null) return;
+
+        SpawnerSettings settings = config.spawners();
+        spawnsThisTick = 0;
+        ticks++;
+
+        if (!backoff.isEmpty()) {
+            for (Block block : backoff) applyBackoff(block, settings);
+            backoff.clear();
+        }
+
+        if (ticks % settings.checkIntervalTicks() == 0) checkDensity(settings);
+    }
+
+    private void applyBackoff(Block block, SpawnerSettings settings) {
+        if (!block.getWorld().isChunkLoaded(block.getX() >> 4, block.getZ() >> 4)) return;
+        if (block.getType() != Material.SPAWNER) return;
+
+        BlockState state = block.getState(false);
+        if (!(state instanceof CreatureSpawner spawner)) return;
+
+        long salt = block.getWorld().getSeed() ^ GridRandom.SPAWNER_DELAY_SALT ^ ticks;
+        int jitter = GridRandom.toInt(GridRandom.hash(salt, block.getX(), block.getY(), block.getZ()), settings.backoffTicks());
+        spawner.setDelay(settings.backoffTicks() + jitter);
+    }
+
+    private void checkDensity(SpawnerSettings settings) {
+        for (World world : Bukkit.getWorlds()) {
+            Map<Long, Integer> chunks = spawnersByChunk.get(world.getUID());
+            if (chunks == null || chunks.isEmpty()) continue;
+
+            Map<Long, Integer> mobs = mobsByChunk.getOrDefault(world.getUID(), Map.of());
+            Set<Long> pausedChunks = paused.computeIfAbsent(world.getUID(), k -> new HashSet<>());
+
+            for (long key : chunks.keySet()) {
+                int x = (int) key;
+                int z = (int) (key >>> 32);
+                if (!world.isChunkLoaded(x, z)) continue;
+
+                if (mobs.getOrDefault(key, 0) >= settings.maxChunkEntities()) pausedChunks.add(key);
+                else pausedChunks.remove(key);
+            }
+        }
+    }
+
+    private void index(Chunk chunk) {
+        int count = 0;
+        for (BlockState state : chunk.getTileEntities(block -> block.getType() == Material.SPAWNER, false)) {
+            if (state instanceof CreatureSpawner spawner && spawner.getPersistentDataContainer().has(SkyGridKeys.SPAWNER, PersistentDataType.BYTE)) count++;
+        }
+        if (count == 0) return;
+
+        spawnersByChunk.computeIfAbsent(chunk.getWorld().getUID(), k -> new HashMap<>()).put(chunk.getChunkKey(), count);
+    }
+
+    private void track(Entity entity) {
+        Long key = entity.getPersistentDataContainer().get(SkyGridKeys.SPAWNED_IN, PersistentDataType.LONG);
+        if (key == null) return;
+
+        UUID world = entity.getWorld().getUID();
+        if (!indexedWorlds.contains(entity.getWorld().getName())) return;
+        if (mobOrigins.computeIfAbsent(world, k -> new HashMap<>()).putIfAbsent(entity.getUniqueId(), key) != null) return;
+
+        mobsByChunk.computeIfAbsent(world, k -> new HashMap<>()).merge(key, 1, Integer::sum);
+    }
+}
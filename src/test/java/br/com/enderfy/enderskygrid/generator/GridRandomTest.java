@@ -0,0 +1,66 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GridRandomTest {
+
+    private static final long[] SEEDS = {0L, 1L, -1L, 42L, 1234567890123L, Long.MIN_VALUE, Long.MAX_VALUE, 0x5DEECE66DL};
+    private static final int[] COORDS = {0, 1, -1, 15, -16, 4096, -30_000_000, 30_000_000, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    @Test
+    void legacySeedMatchesOriginalMix() {
+        for (long seed : SEEDS) {
+            for (int x : COORDS) {
+                for (int z : COORDS) {
+                    for (int y = -64; y < 320; y += 37) {
+                        long expected = seed ^ (x * 341873128712L) ^ (z * 132897987541L) ^ (y * 42317861L);
+                        assertEquals(expected, GridRandom.legacySeed(seed, x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void legacyDoubleMatchesJavaUtilRandom() {
+        for (long seed : SEEDS) {
+            for (int x : COORDS) {
+                for (int z : COORDS) {
+                    for (int y = -64; y < 320; y += 37) {
+                        double expected = new Random(GridRandom.legacySeed(seed, x, y, z)).nextDouble();
+                        assertEquals(expected, GridRandom.legacyDouble(seed, x, y, z), "seed " + seed + " at " + x + "," + y + "," + z);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void legacyDoubleMatchesJavaUtilRandomOnRandomInputs() {
+        Random inputs = new Random(7L);
+        for (int i = 0; i < 100_000; i++) {
+            long seed = inputs.nextLong();
+            int x = inputs.nextInt();
+            int y = inputs.nextInt(2048) - 1024;
+            int z = inputs.nextInt();
+            assertEquals(new Random(GridRandom.legacySeed(seed, x, y, z)).nextDouble(), GridRandom.legacyDouble(seed, x, y, z));
+        }
+    }
+
+    @Test
+    void cellRollPicksModeByFlag() {
+        Random inputs = new Random(11L);
+        for (int i = 0; i < 10_000; i++) {
+            long seed = inputs.nextLong();
+            int x = inputs.nextInt(60_000) - 30_000;
+            int y = inputs.nextInt(384) - 64;
+            int z = inputs.nextInt(60_000) - 30_000;
+            assertEquals(new Random(GridRandom.legacySeed(seed, x, y, z)).nextDouble(), GridRandom.cellRoll(true, seed, x, y, z));
+            assertEquals(GridRandom.toDouble(GridRandom.hash(seed, x, y, z)), GridRandom.cellRoll(false, seed, x, y, z));
+        }
+    }
+}
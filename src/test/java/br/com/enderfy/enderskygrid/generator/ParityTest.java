@@ -0,0 +1,69 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ParityTest {
+
+    private static final Logger LOGGER = Logger.getLogger("EnderSkyGrid");
+
+    static List<String> sections() {
+        return ParityHashes.SECTIONS;
+    }
+
+    @ParameterizedTest
+    @MethodSource("sections")
+    void matchesGolden(String section) {
+        Map<String, Long> expected = new TreeMap<>();
+        golden().forEach((key, value) -> {
+            if (ParityHashes.section(key).equals(section)) expected.put(key, value);
+        });
+        assertFalse(expected.isEmpty(), "no golden hashes recorded for " + section);
+
+        SkyGridConfig config = config("/parity-config.yml");
+        SkyGridConfig layered = config("/parity-layers.yml");
+        Map<String, Long> actual = ParityHashes.compute(Set.of(section), config, layered, ParityHashes.RADIUS, ParityHashes.ROLLS, ForkJoinPool.commonPool());
+
+        assertEquals(ParityHashes.format(expected), ParityHashes.format(actual),
+                section + " output differs from parity-golden.txt; re-record only from a trusted commit with checkParity -Pargs=\"--record true\"");
+    }
+
+    private static Map<String, Long> golden() {
+        try (BufferedReader reader = open("/parity-golden.txt")) {
+            return ParityHashes.parse(reader.lines().toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static SkyGridConfig config(String resource) {
+        try (BufferedReader reader = open(resource)) {
+            return ParityHashes.config(reader, LOGGER);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static BufferedReader open(String resource) {
+        InputStream in = ParityTest.class.getResourceAsStream(resource);
+        if (in == null) throw new IllegalStateException(resource + " not found on the test classpath");
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.enderfy.enderskygrid.model;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridPaletteTest {
+
+    private static final List<GridEntry> MIXED = List.of(
+            entry(Material.CHEST, 0.5),
+            entry(Material.SPAWNER, 0.05),
+            entry(Material.STONE, 20),
+            entry(Material.GLASS, 0),
+            entry(Material.DIRT, 10),
+            entry(Material.ICE, -1),
+            entry(Material.OAK_LOG, 2),
+            entry(Material.COAL_ORE, 0.1),
+            entry(Material.IRON_ORE, 1e-9)
+    );
+
+    @Test
+    void pickMatchesLinearScan() {
+        for (List<GridEntry> source : palettes()) {
+            GridPalette palette = GridPalette.compile(source);
+
+            for (double roll : boundaryRolls(source)) {
+                assertSame(linearPick(source, roll), palette.pick(roll), "roll " + roll + " over " + source);
+            }
+
+            Random random = new Random(source.size());
+            for (int i = 0; i < 50_000; i++) {
+                double roll = random.nextDouble();
+                assertSame(linearPick(source, roll), palette.pick(roll), "roll " + roll + " over " + source);
+            }
+        }
+    }
+
+    @Test
+    void compileDropsNonPositiveWeights() {
+        GridPalette palette = GridPalette.compile(MIXED);
+
+        assertEquals(7, palette.size());
+        for (GridEntry e : palette.entries()) assertTrue(e.weight() > 0, "kept " + e);
+        assertTrue(GridPalette.compile(List.of(entry(Material.STONE, 0), entry(Material.DIRT, -3))).isEmpty());
+        assertTrue(GridPalette.compile(null).isEmpty());
+        assertEquals(-1, GridPalette.empty().pickIndex(0.5));
+    }
+
+    @Test
+    void plainPickNeverReturnsTiles() {
+        GridPalette palette = GridPalette.compile(MIXED);
+        Random random = new Random(3L);
+
+        for (int i = 0; i < 50_000; i++) {
+            int index = palette.pickPlainIndex(random.nextDouble());
+            assertTrue(index >= 0);
+            assertFalse(palette.entry(index).isChest() || palette.entry(index).isSpawner(), "picked " + palette.entry(index));
+        }
+        assertFalse(palette.entry(palette.pickPlainIndex(0.0)).isChest());
+        assertFalse(palette.entry(palette.pickPlainIndex(Math.nextDown(1.0))).isSpawner());
+
+        GridPalette tilesOnly = GridPalette.compile(List.of(entry(Material.CHEST, 1), entry(Material.SPAWNER, 1)));
+        assertEquals(-1, tilesOnly.pickPlainIndex(0.5));
+    }
+
+    private static List<List<GridEntry>> palettes() {
+        List<List<GridEntry>> out = new ArrayList<>();
+        out.add(MIXED);
+        out.add(List.of(entry(Material.STONE, 1)));
+        out.add(List.of(entry(Material.GLASS, 0), entry(Material.STONE, 3)));
+        out.add(List.of(entry(Material.STONE, 0.1), entry(Material.DIRT, 0.2), entry(Material.SAND, 0.3)));
+
+        Random random = new Random(99L);
+        Material[] materials = {Material.STONE, Material.DIRT, Material.SAND, Material.GRAVEL, Material.CHEST, Material.SPAWNER};
+        for (int p = 0; p < 20; p++) {
+            List<GridEntry> source = new ArrayList<>();
+            int size = 1 + random.nextInt(40);
+            for (int i = 0; i < size; i++) {
+                double weight = random.nextInt(5) == 0 ? 0 : random.nextDouble() * 100;
+                source.add(entry(materials[random.nextInt(materials.length)], weight));
+            }
+            out.add(source);
+        }
+        return out;
+    }
+
+    private static List<Double> boundaryRolls(List<GridEntry> source) {
+        List<Double> rolls = new ArrayList<>(List.of(0.0, Double.MIN_VALUE, 0.5, Math.nextDown(1.0), 1.0));
+
+        double total = 0.0;
+        for (GridEntry e : source) total += Math.max(0.0, e.weight());
+
+        double acc = 0.0;
+        for (GridEntry e : source) {
+            acc += Math.max(0.0, e.weight());
+            double roll = acc / total;
+            rolls.add(roll);
+            rolls.add(Math.nextDown(roll));
+            rolls.add(Math.nextUp(roll));
+        }
+        return rolls;
+    }
+
+    private static GridEntry linearPick(List<GridEntry> entries, double roll01) {
+        double total = 0.0;
+        for (GridEntry e : entries) total += Math.max(0.0, e.weight());
+        if (total <= 0) return null;
+
+        double roll = roll01 * total;
+        double acc = 0.0;
+
+        for (GridEntry e : entries) {
+            double w = Math.max(0.0, e.weight());
+            if (w <= 0) continue;
+
+            acc += w;
+            if (roll <= acc) return e;
+        }
+        return null;
+    }
+
+    private static GridEntry entry(Material material, double weight) {
+        Map<EntityType, Integer> mobs = material == Material.SPAWNER ? Map.of(EntityType.ZOMBIE, 1) : Map.of();
+        return new GridEntry(material, weight, List.of(), mobs);
+    }
+}
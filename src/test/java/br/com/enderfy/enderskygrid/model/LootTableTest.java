@@ -0,0 +1,180 @@
+package br.com.enderfy.enderskygrid.model;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LootTableTest {
+
+    @Test
+    void lookupRollMatchesLinearScan() {
+        List<LootEntry> entries = List.of(
+                entry(Material.BREAD, 30, 2, 6),
+                entry(Material.GLASS, 0, 1, 1),
+                entry(Material.COBBLESTONE, 40, 12, 32),
+                entry(Material.IRON_INGOT, 18, 2, 8),
+                entry(Material.DIAMOND, 4, 1, 3)
+        );
+        assertRollsMatch(new LootTable(2, 6, entries), 2, 6, entries);
+    }
+
+    @Test
+    void binaryRollMatchesLinearScan() {
+        List<LootEntry> entries = List.of(
+                entry(Material.DIAMOND, 3000, 1, 5),
+                entry(Material.GOLD_INGOT, 2500, 2, 9),
+                entry(Material.OBSIDIAN, 7, 4, 4),
+                entry(Material.GLASS, 0, 1, 1),
+                entry(Material.BREAD, 1, 60, 99)
+        );
+        assertRollsMatch(new LootTable(1, 3, entries), 1, 3, entries);
+    }
+
+    @Test
+    void randomTablesMatchLinearScan() {
+        Random random = new Random(5L);
+        Material[] materials = {Material.BREAD, Material.DIAMOND, Material.IRON_INGOT, Material.GOLD_INGOT, Material.COBBLESTONE};
+
+        for (int t = 0; t < 40; t++) {
+            List<LootEntry> entries = new ArrayList<>();
+            int size = 1 + random.nextInt(12);
+            int scale = (t % 2 == 0) ? 50 : 5000;
+            for (int i = 0; i < size; i++) {
+                int min = 1 + random.nextInt(10);
+                entries.add(entry(materials[random.nextInt(materials.length)], random.nextInt(scale), min, min + random.nextInt(10)));
+            }
+            int minRolls = random.nextInt(4);
+            int maxRolls = minRolls + random.nextInt(4);
+            assertRollsMatch(new LootTable(minRolls, maxRolls, entries), minRolls, maxRolls, entries);
+        }
+    }
+
+    @Test
+    void poolPickMatchesLinearScan() {
+        LootTable common = new LootTable(1, 1, List.of(entry(Material.BREAD, 1, 1, 1)));
+        LootTable rare = new LootTable(1, 1, List.of(entry(Material.DIAMOND, 1, 1, 1)));
+        LootTable nether = new LootTable(1, 1, List.of(entry(Material.GOLD_INGOT, 1, 1, 1)));
+        LootTable disabled = new LootTable(1, 1, List.of(entry(Material.OBSIDIAN, 1, 1, 1)));
+
+        Map<String, LootTableDef> all = new HashMap<>();
+        all.put("overworld", new LootTableDef(3, common));
+        all.put("overworld_rare", new LootTableDef(1, rare));
+        all.put("nether", new LootTableDef(7, nether));
+        all.put("end", new LootTableDef(0, disabled));
+        all.put("broken", new LootTableDef(5, null));
+
+        List<List<String>> pools = List.of(
+                List.of("overworld"),
+                List.of("overworld", "overworld_rare"),
+                List.of("overworld_rare", "nether", "overworld"),
+                List.of("end"),
+                List.of("end", "nether"),
+                List.of("broken", "missing"),
+                List.of("missing"),
+                List.of()
+        );
+
+        for (List<String> pool : pools) {
+            LootPoolPlan plan = LootPoolPlan.compile(pool, all);
+            for (long seed = 0; seed < 20_000; seed++) {
+                assertSame(linearPool(all, pool, new Random(seed)), plan.pick(new Random(seed)), "pool " + pool + " seed " + seed);
+            }
+        }
+
+        assertNull(LootPoolPlan.compile(List.of("overworld"), Map.of()).pick(new Random(0L)));
+    }
+
+    private static void assertRollsMatch(LootTable table, int minRolls, int maxRolls, List<LootEntry> entries) {
+        LootEntry[] picked = new LootEntry[table.maxRolls()];
+        int[] amounts = new int[table.maxRolls()];
+
+        for (long seed = 0; seed < 20_000; seed++) {
+            Random actual = new Random(seed);
+            Random expected = new Random(seed);
+
+            int count = table.rollInto(actual, picked, amounts);
+            List<Object[]> linear = linearRoll(expected, minRolls, maxRolls, entries);
+
+            assertEquals(linear.size(), count, "rolls for seed " + seed);
+            for (int i = 0; i < count; i++) {
+                assertSame(linear.get(i)[0], picked[i], "entry " + i + " for seed " + seed);
+                assertEquals((int) linear.get(i)[1], amounts[i], "amount " + i + " for seed " + seed);
+            }
+            assertEquals(expected.nextLong(), actual.nextLong(), "random stream for seed " + seed);
+        }
+    }
+
+    private static List<Object[]> linearRoll(Random r, int minRolls, int maxRolls, List<LootEntry> entries) {
+        int total = 0;
+        for (LootEntry e : entries) total += Math.max(0, e.weight());
+        if (entries.isEmpty() || total <= 0 || maxRolls <= 0) return List.of();
+
+        int rolls = (minRolls == maxRolls) ? minRolls : (minRolls + r.nextInt((maxRolls - minRolls) + 1));
+        List<Object[]> out = new ArrayList<>(rolls);
+
+        for (int i = 0; i < rolls; i++) {
+            int roll = r.nextInt(total) + 1;
+            int acc = 0;
+            LootEntry picked = null;
+
+            for (LootEntry e : entries) {
+                int w = Math.max(0, e.weight());
+                if (w == 0) continue;
+
+                acc += w;
+                if (roll <= acc) {
+                    picked = e;
+                    break;
+                }
+            }
+
+            int minA = Math.max(1, picked.minAmount());
+            int maxA = Math.max(minA, picked.maxAmount());
+            int amount = (minA == maxA) ? minA : (minA + r.nextInt((maxA - minA) + 1));
+            out.add(new Object[]{picked, Math.min(64, amount)});
+        }
+        return out;
+    }
+
+    private static LootTable linearPool(Map<String, LootTableDef> all, List<String> pool, Random r) {
+        if (all == null || all.isEmpty()) return null;
+
+        List<LootTableDef> defs = new ArrayList<>();
+        for (String name : pool) {
+            LootTableDef def = all.get(name);
+            if (def != null && def.weight() > 0 && def.table() != null) defs.add(def);
+        }
+
+        if (defs.isEmpty()) {
+            for (String name : pool) {
+                LootTableDef def = all.get(name);
+                if (def != null && def.table() != null) return def.table();
+            }
+            LootTableDef def = all.get("overworld");
+            return (def == null) ? null : def.table();
+        }
+
+        int total = 0;
+        for (LootTableDef d : defs) total += Math.max(0, d.weight());
+
+        int roll = r.nextInt(total) + 1;
+        int acc = 0;
+
+        for (LootTableDef d : defs) {
+            acc += Math.max(0, d.weight());
+            if (roll <= acc) return d.table();
+        }
+        return defs.getFirst().table();
+    }
+
+    private static LootEntry entry(Material material, int weight, int min, int max) {
+        return new LootEntry(material, null, weight, min, max);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Biome;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public final class FakeBiomes {
+
+    private static final Map<String, Biome> BY_NAME = new HashMap<>();
+
+    private FakeBiomes() {}
+
+    public static synchronized Biome of(String name) {
+        return BY_NAME.computeIfAbsent(name.toUpperCase(Locale.ROOT), FakeBiomes::create);
+    }
+
+    public static FakeChunkData.BiomeSource cells(int size, String... names) {
+        Biome[] table = new Biome[names.length];
+        for (int i = 0; i < names.length; i++) table[i] = of(names[i]);
+
+        return (x, y, z) -> table[Math.floorMod(Math.floorDiv(x, size) * 31 + Math.floorDiv(z, size), table.length)];
+    }
+
+    private static Biome create(String name) {
+        int ordinal = BY_NAME.size();
+        NamespacedKey key = NamespacedKey.minecraft(name.toLowerCase(Locale.ROOT));
+
+        return (Biome) Proxy.newProxyInstance(
+                Biome.class.getClassLoader(),
+                new Class<?>[]{Biome.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "name" -> name;
+                    case "ordinal" -> ordinal;
+                    case "getKey", "key" -> key;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "FakeBiome[" + name + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
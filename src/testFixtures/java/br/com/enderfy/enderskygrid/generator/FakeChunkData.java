@@ -0,0 +1,162 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import org.bukkit.HeightMap;
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.material.MaterialData;
+
+import java.util.Arrays;
+
+public final class FakeChunkData implements ChunkGenerator.ChunkData {
+
+    @FunctionalInterface
+    public interface BiomeSource {
+        Biome biome(int x, int y, int z);
+    }
+
+    private final int minHeight;
+    private final int maxHeight;
+    private final BiomeSource biomes;
+    private final Material[] blocks;
+    private int baseX;
+    private int baseZ;
+    private int writes;
+    private int calls;
+
+    public FakeChunkData(int minHeight, int maxHeight) {
+        this(minHeight, maxHeight, (x, y, z) -> null);
+    }
+
+    public FakeChunkData(int minHeight, int maxHeight, BiomeSource biomes) {
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+        this.biomes = biomes;
+        this.blocks = new Material[16 * 16 * (maxHeight - minHeight)];
+    }
+
+    public void reset() {
+        Arrays.fill(blocks, null);
+        writes = 0;
+        calls = 0;
+    }
+
+    public void reset(int chunkX, int chunkZ) {
+        reset();
+        baseX = chunkX << 4;
+        baseZ = chunkZ << 4;
+    }
+
+    public int writes() {
+        return writes;
+    }
+
+    public int calls() {
+        return calls;
+    }
+
+    public long hash(long h) {
+        for (int i = 0; i < blocks.length; i++) {
+            Material m = blocks[i];
+            if (m == null) continue;
+            h = GridRandom.mix64(h ^ (((long) i << 32) | (m.name().hashCode() & 0xFFFFFFFFL)));
+        }
+        return h;
+    }
+
+    private int index(int x, int y, int z) {
+        return (((y - minHeight) << 8) | (z << 4) | x);
+    }
+
+    private boolean inBounds(int x, int y, int z) {
+        return x >= 0 && x < 16 && z >= 0 && z < 16 && y >= minHeight && y < maxHeight;
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    @Override
+    public Biome getBiome(int x, int y, int z) {
+        return biomes.biome(baseX + x, y, baseZ + z);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, Material material) {
+        calls++;
+        write(x, y, z, material);
+    }
+
+    private void write(int x, int y, int z, Material material) {
+        if (!inBounds(x, y, z)) return;
+        blocks[index(x, y, z)] = material;
+        writes++;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, MaterialData material) {
+        setBlock(x, y, z, material.getItemType());
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockData blockData) {
+        setBlock(x, y, z, blockData.getMaterial());
+    }
+
+    @Override
+    public void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, Material material) {
+        calls++;
+        for (int y = yMin; y < yMax; y++) {
+            for (int z = zMin; z < zMax; z++) {
+                for (int x = xMin; x < xMax; x++) write(x, y, z, material);
+            }
+        }
+    }
+
+    @Override
+    public void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, MaterialData material) {
+        setRegion(xMin, yMin, zMin, xMax, yMax, zMax, material.getItemType());
+    }
+
+    @Override
+    public void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockData blockData) {
+        setRegion(xMin, yMin, zMin, xMax, yMax, zMax, blockData.getMaterial());
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        if (!inBounds(x, y, z)) return Material.AIR;
+        Material m = blocks[index(x, y, z)];
+        return (m == null) ? Material.AIR : m;
+    }
+
+    @Override
+    public MaterialData getTypeAndData(int x, int y, int z) {
+        throw new UnsupportedOperationException("getTypeAndData");
+    }
+
+    @Override
+    public BlockData getBlockData(int x, int y, int z) {
+        throw new UnsupportedOperationException("getBlockData");
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public byte getData(int x, int y, int z) {
+        return 0;
+    }
+
+    public int getHeight(HeightMap heightMap, int x, int z) {
+        for (int y = maxHeight - 1; y >= minHeight; y--) {
+            if (getType(x, y, z) != Material.AIR) return y + 1;
+        }
+        return minHeight;
+    }
+}
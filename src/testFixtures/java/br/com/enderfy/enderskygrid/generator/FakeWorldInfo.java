@@ -0,0 +1,34 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import org.bukkit.World;
+import org.bukkit.generator.WorldInfo;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+public final class FakeWorldInfo {
+
+    private FakeWorldInfo() {}
+
+    public static WorldInfo of(String name, World.Environment environment, long seed, int minHeight, int maxHeight) {
+        UUID uid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+
+        return (WorldInfo) Proxy.newProxyInstance(
+                WorldInfo.class.getClassLoader(),
+                new Class<?>[]{WorldInfo.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> name;
+                    case "getUID" -> uid;
+                    case "getEnvironment" -> environment;
+                    case "getSeed" -> seed;
+                    case "getMinHeight" -> minHeight;
+                    case "getMaxHeight" -> maxHeight;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "FakeWorldInfo[" + name + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
@@ -0,0 +1,265 @@
+package br.com.enderfy.enderskygrid.generator;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.generator.WorldInfo;
+
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+public final class ParityHashes {
+
+    public static final List<String> SECTIONS = List.of("random", "layout", "chests", "generate", "loot");
+    public static final int RADIUS = 8;
+    public static final int ROLLS = 20_000;
+
+    private static final String WORLD = "parity";
+    private static final long[] SEEDS = {0L, 1234567890123L, -42L};
+    private static final int[] SPACINGS = {1, 3, 4, 7, 16, 20};
+    private static final int BIOME_CELL = 32;
+    private static final String UNCONFIGURED_BIOME = "RIVER";
+
+    private ParityHashes() {}
+
+    public static SkyGridConfig config(Reader reader, Logger logger) {
+        return ConfigManager.parse(YamlConfiguration.loadConfiguration(reader), logger, null, false);
+    }
+
+    public static Map<String, Long> compute(Set<String> sections, SkyGridConfig config, SkyGridConfig layered, int radius, int rolls, ForkJoinPool pool) {
+        Map<String, Long> out = new TreeMap<>();
+
+        if (sections.contains("random")) random(out);
+        if (sections.contains("layout")) layout(out);
+        if (sections.contains("chests")) chests(out);
+        if (sections.contains("generate")) generate(out, config, layered, radius, pool);
+        if (sections.contains("loot")) loot(out, config, rolls);
+        return out;
+    }
+
+    public static Map<String, Long> parse(List<String> lines) {
+        Map<String, Long> out = new TreeMap<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) continue;
+
+            int space = trimmed.indexOf(' ');
+            if (space < 0) continue;
+            out.put(trimmed.substring(0, space), Long.parseUnsignedLong(trimmed.substring(space + 1).trim(), 16));
+        }
+        return out;
+    }
+
+    public static String format(Map<String, Long> hashes) {
+        StringBuilder text = new StringBuilder();
+        new TreeMap<>(hashes).forEach((key, value) -> text.append(key).append(' ').append(String.format(Locale.ROOT, "%016x", value)).append('\n'));
+        return text.toString();
+    }
+
+    public static String section(String key) {
+        return key.substring(0, key.indexOf('.'));
+    }
+
+    private static void random(Map<String, Long> out) {
+        Map<EntityType, Integer> mobs = new LinkedHashMap<>();
+        mobs.put(EntityType.ZOMBIE, 10);
+        mobs.put(EntityType.SKELETON, 18);
+        mobs.put(EntityType.SPIDER, 10);
+        mobs.put(EntityType.CREEPER, 8);
+        GridPalette spawner = GridPalette.compile(List.of(new GridEntry(Material.SPAWNER, 1.0, List.of(), mobs)));
+
+        for (long seed : SEEDS) {
+            for (boolean legacy : new boolean[]{true, false}) {
+                WorldSettings settings = new WorldSettings(4, -64, 100, legacy, "PLAINS", null, TileCaps.NONE);
+                long rolls = 0L;
+                long picks = 0L;
+
+                for (int x = -300; x <= 300; x += 7) {
+                    for (int z = -300; z <= 300; z += 7) {
+                        for (int y = -64; y < 320; y += 13) {
+                            rolls = GridRandom.mix64(rolls ^ Double.doubleToLongBits(GridRandom.cellRoll(legacy, seed, x, y, z)));
+                            picks = GridRandom.mix64(picks ^ SkyGridPopulator.spawnerMob(settings, spawner, seed, x, y, z).name().hashCode());
+                        }
+                    }
+                }
+                out.put("random.cellroll." + mode(legacy) + "." + seedKey(seed), rolls);
+                out.put("random.spawner." + mode(legacy) + "." + seedKey(seed), picks);
+            }
+        }
+    }
+
+    private static void layout(Map<String, Long> out) {
+        int[][] heights = {{-64, 320}, {0, 256}};
+
+        for (int spacing = 1; spacing <= 33; spacing++) {
+            GridLayout layout = new GridLayout(spacing, -64, 100);
+            long h = 0L;
+
+            for (int[] height : heights) {
+                for (int cx = -5; cx < 5; cx++) {
+                    for (int cz = -5; cz < 5; cz++) {
+                        for (int cell : layout.cells(cx, cz, height[0], height[1])) {
+                            h += GridRandom.hash(height[1], (cx << 4) + GridLayout.x(cell), GridLayout.y(cell), (cz << 4) + GridLayout.z(cell));
+                        }
+                    }
+                }
+            }
+            out.put("layout.spacing" + spacing, h);
+        }
+    }
+
+    private static void chests(Map<String, Long> out) {
+        for (long seed : SEEDS) {
+            for (boolean legacy : new boolean[]{true, false}) {
+                WorldSettings settings = new WorldSettings(4, -64, 100, legacy, "PLAINS", null, TileCaps.NONE);
+                long h = 0L;
+
+                for (int x = -500; x <= 500; x += 9) {
+                    for (int z = -500; z <= 500; z += 9) {
+                        for (int y = -64; y < 320; y += 17) h = GridRandom.mix64(h ^ SkyGridPopulator.chestSeed(settings, seed, x, y, z));
+                    }
+                }
+                out.put("chests." + mode(legacy) + "." + seedKey(seed), h);
+            }
+        }
+    }
+
+    private static void generate(Map<String, Long> out, SkyGridConfig config, SkyGridConfig layered, int radius, ForkJoinPool pool) {
+        for (String profile : SkyGridGenerators.PROFILES) {
+            WorldSettings settings = SkyGridGenerator.profileSettings(config, profile, environment(profile));
+            for (boolean legacy : new boolean[]{true, false}) {
+                generateCase(out, "generate." + profile + "." + mode(legacy), config, profile, withBiomes(settings, legacy), radius, pool);
+            }
+        }
+
+        for (int spacing : SPACINGS) {
+            WorldSettings settings = withSpacing(config.overworld(), spacing);
+            for (boolean legacy : new boolean[]{true, false}) {
+                generateCase(out, "generate.overworld.spacing" + spacing + "." + mode(legacy), config, "overworld", withBiomes(settings, legacy), radius, pool);
+            }
+        }
+
+        for (boolean legacy : new boolean[]{true, false}) {
+            generateCase(out, "generate.layered." + mode(legacy), layered, "overworld", withBiomes(layered.overworld(), legacy), radius, pool);
+        }
+    }
+
+    private static void generateCase(Map<String, Long> out, String key, SkyGridConfig config, String profile, WorldSettings settings, int radius, ForkJoinPool pool) {
+        World.Environment environment = environment(profile);
+        ConfigManager.Snapshot snapshot = new ConfigManager.Snapshot(1L, withProfile(config, profile, settings));
+        FakeChunkData.BiomeSource biomes = FakeBiomes.cells(BIOME_CELL, biomeNames(settings));
+
+        int minHeight = (environment == World.Environment.NORMAL) ? -64 : 0;
+        int maxHeight = (environment == World.Environment.NORMAL) ? 320 : 256;
+        int side = radius * 2;
+
+        for (long seed : SEEDS) {
+            WorldInfo worldInfo = FakeWorldInfo.of(WORLD, environment, seed, minHeight, maxHeight);
+            SkyGridGenerator generator = new SkyGridGenerator(new ChestIndex(), profile);
+            generator.bind(worldInfo, snapshot);
+            ThreadLocal<FakeChunkData> chunks = ThreadLocal.withInitial(() -> new FakeChunkData(minHeight, maxHeight, biomes));
+
+            long h = pool.submit(() -> IntStream.range(0, side * side).parallel().mapToLong(i -> {
+                int chunkX = i % side - radius;
+                int chunkZ = i / side - radius;
+
+                FakeChunkData data = chunks.get();
+                data.reset(chunkX, chunkZ);
+                generator.generateNoise(worldInfo, new Random(0L), chunkX, chunkZ, data);
+
+                return GridRandom.mix64(data.hash(((long) chunkX << 32) ^ (chunkZ & 0xFFFFFFFFL)));
+            }).sum()).join();
+
+            out.put(key + "." + seedKey(seed), h);
+        }
+    }
+
+    private static void loot(Map<String, Long> out, SkyGridConfig config, int rolls) {
+        Map<LootTable, String> names = new IdentityHashMap<>();
+        config.lootTables().forEach((name, def) -> {
+            if (def.table() != null) names.put(def.table(), name);
+        });
+
+        for (List<String> poolNames : config.lootPools().pools()) {
+            LootPoolPlan plan = config.lootPools().plan(poolNames);
+            long h = 0L;
+
+            for (int i = 0; i < rolls; i++) {
+                LootRoll roll = LootRoll.resolve(0L, plan, GridRandom.mix64(i), 27);
+                String table = (roll.table() == null) ? "" : names.getOrDefault(roll.table(), "?");
+
+                h = GridRandom.mix64(h ^ table.hashCode());
+                for (int s = 0; s < roll.filled(); s++) {
+                    h = GridRandom.mix64(h ^ roll.entries()[s].material().name().hashCode());
+                    h = GridRandom.mix64(h ^ (((long) roll.amounts()[s] << 32) | roll.slots()[s]));
+                }
+            }
+            out.put("loot." + String.join("+", poolNames), h);
+        }
+    }
+
+    private static SkyGridConfig withProfile(SkyGridConfig config, String profile, WorldSettings settings) {
+        return new SkyGridConfig(List.of(WORLD),
+                profile.equals("overworld") ? settings : config.overworld(),
+                profile.equals("nether") ? settings : config.nether(),
+                profile.equals("end") ? settings : config.end(),
+                config.lootTables(), config.lootPools(), config.pregen(), config.metrics(), config.spawners(), config.lootPrefetch());
+    }
+
+    private static WorldSettings withSpacing(WorldSettings settings, int spacing) {
+        return new WorldSettings(spacing, settings.minY(), settings.maxY(), settings.legacyRandom(), settings.defaultBiome(), settings.palettes(), settings.tileCaps(),
+                List.of(new GridLayer("default", spacing, settings.minY(), settings.maxY(), settings.palettes(), null)), settings.biomeCells(), settings.fixedSpawn());
+    }
+
+    private static WorldSettings withBiomes(WorldSettings settings, boolean legacy) {
+        Map<BiomePalettes, BiomePalettes> remapped = new IdentityHashMap<>();
+        BiomePalettes palettes = remapped.computeIfAbsent(settings.palettes(), p -> withBiomes(p, settings.defaultBiome()));
+
+        List<GridLayer> layers = new ArrayList<>();
+        for (GridLayer layer : settings.layers()) {
+            layers.add(new GridLayer(layer.name(), layer.spacing(), layer.minY(), layer.maxY(),
+                    remapped.computeIfAbsent(layer.palettes(), p -> withBiomes(p, settings.defaultBiome())), layer.noise()));
+        }
+
+        return new WorldSettings(settings.spacing(), settings.minY(), settings.maxY(), legacy, settings.defaultBiome(), palettes, settings.tileCaps(),
+                List.copyOf(layers), settings.biomeCells(), settings.fixedSpawn());
+    }
+
+    private static BiomePalettes withBiomes(BiomePalettes palettes, String defaultBiome) {
+        Map<Biome, GridPalette> byBiome = new HashMap<>();
+        palettes.byName().forEach((name, palette) -> byBiome.put(FakeBiomes.of(name), palette));
+        return new BiomePalettes(palettes.byName(), byBiome, defaultBiome);
+    }
+
+    private static String[] biomeNames(WorldSettings settings) {
+        Set<String> configured = new TreeSet<>(settings.palettes().byName().keySet());
+        for (GridLayer layer : settings.layers()) configured.addAll(layer.palettes().byName().keySet());
+
+        List<String> names = new ArrayList<>(configured);
+        names.add(UNCONFIGURED_BIOME);
+        return names.toArray(new String[0]);
+    }
+
+    private static World.Environment environment(String profile) {
+        return switch (profile) {
+            case "nether" -> World.Environment.NETHER;
+            case "end" -> World.Environment.THE_END;
+            default -> World.Environment.NORMAL;
+        };
+    }
+
+    private static String mode(boolean legacy) {
+        return legacy ? "legacy" : "hashed";
+    }
+
+    private static String seedKey(long seed) {
+        return "seed" + seed;
+    }
+}
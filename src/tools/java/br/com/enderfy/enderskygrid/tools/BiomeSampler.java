@@ -0,0 +1,54 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.generator.GridRandom;
+import br.com.enderfy.enderskygrid.generator.SkyGridBiomeProvider;
+import br.com.enderfy.enderskygrid.model.WorldSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+@FunctionalInterface
+public interface BiomeSampler {
+
+    String biome(int x, int y, int z);
+
+    static BiomeSampler parse(String spec, WorldSettings settings, long seed) {
+        String lower = spec.toLowerCase(Locale.ROOT);
+
+        if (lower.equals("default")) {
+            String name = settings.defaultBiome();
+            return (x, y, z) -> name;
+        }
+
+        if (lower.startsWith("fixed:")) {
+            String name = spec.substring("fixed:".length()).toUpperCase(Locale.ROOT);
+            return (x, y, z) -> name;
+        }
+
+        if (lower.startsWith("cells:")) {
+            int size = Math.max(1, Integer.parseInt(spec.substring("cells:".length())));
+            List<String> names = new ArrayList<>(settings.palettes().byName().keySet());
+            Collections.sort(names);
+            if (names.isEmpty()) return (x, y, z) -> null;
+
+            String[] table = names.toArray(new String[0]);
+            long salt = seed ^ GridRandom.BIOME_SALT;
+            return (x, y, z) -> table[GridRandom.toInt(
+                    GridRandom.hash(salt, Math.floorDiv(x, size), 0, Math.floorDiv(z, size)), table.length)];
+        }
+
+        if (lower.equals("provider") || lower.startsWith("provider:")) {
+            int size = lower.startsWith("provider:")
+                    ? Math.max(4, Integer.parseInt(spec.substring("provider:".length())))
+                    : settings.biomeCells().cellSize();
+            String[] table = SkyGridBiomeProvider.biomeNames(settings).toArray(new String[0]);
+            if (table.length == 0) return (x, y, z) -> null;
+
+            return (x, y, z) -> table[SkyGridBiomeProvider.cell(seed, size, x, z, table.length)];
+        }
+
+        throw new IllegalArgumentException("Unknown biome sampler '" + spec + "' (use default, fixed:<BIOME>, cells:<blocks> or provider[:<blocks>])");
+    }
+}
@@ -0,0 +1,217 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.generator.GridSelector;
+import br.com.enderfy.enderskygrid.generator.SkyGridGenerator;
+import br.com.enderfy.enderskygrid.generator.TileBudget;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+public final class GridSimulator {
+
+    private static final int LEAF = 32;
+    private static final int MAX_TILES_PER_CHUNK = 4096;
+
+    private GridSimulator() {}
+
+    public static void main(String[] args) {
+        ToolArgs options = new ToolArgs(args);
+        SkyGridConfig config = options.config(Logger.getLogger("EnderSkyGrid"));
+
+        String world = options.string("world", "overworld").toLowerCase(Locale.ROOT);
+        World.Environment environment = switch (world) {
+            case "overworld" -> World.Environment.NORMAL;
+            case "nether" -> World.Environment.NETHER;
+            case "end" -> World.Environment.THE_END;
+            default -> throw new IllegalArgumentException("--world must be overworld, nether or end");
+        };
+        WorldSettings settings = SkyGridGenerator.profileSettings(config, options.profile(world), environment);
+
+        int spacing = (int) options.number("spacing", settings.spacing());
+        if (spacing != settings.spacing()) {
+            settings = new WorldSettings(spacing, settings.minY(), settings.maxY(), settings.legacyRandom(), settings.defaultBiome(), settings.palettes(), settings.tileCaps(),
+                    List.of(new GridLayer("default", spacing, settings.minY(), settings.maxY(), settings.palettes(), null)), settings.biomeCells(), settings.fixedSpawn());
+        }
+
+        boolean overworld = world.equals("overworld");
+        int minHeight = (int) options.number("min-height", overworld ? -64 : 0);
+        int maxHeight = (int) options.number("max-height", overworld ? 320 : 256);
+
+        int size = (int) Math.max(1, options.number("size", 64));
+        int centerX = (int) options.number("center-x", 0);
+        int centerZ = (int) options.number("center-z", 0);
+        long seed = options.number("seed", 0L);
+        BiomeSampler sampler = BiomeSampler.parse(options.string("biome", "default"), settings, seed);
+
+        Region region = new Region(settings, sampler, seed, centerX - size / 2, centerZ - size / 2, size, minHeight, maxHeight);
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+
+        try {
+            long start = System.nanoTime();
+            Tally tally = pool.invoke(new Simulation(region, 0, size * size));
+            print(world, settings, size, tally, System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void print(String world, WorldSettings settings, int size, Tally tally, long nanos) {
+        long chunks = (long) size * size;
+        double seconds = nanos / 1_000_000_000.0;
+
+        System.out.printf(Locale.ROOT, "%s, %dx%d chunks%n", world, size, size);
+        for (GridLayer layer : settings.layers()) {
+            System.out.printf(Locale.ROOT, "  layer %s: spacing %d, y %d..%d%s%n", layer.name(), layer.spacing(), layer.minY(), layer.maxY(),
+                    (layer.noise() == null) ? "" : String.format(Locale.ROOT, ", noise scale %d density %.2f", layer.noise().scale(), layer.noise().density()));
+        }
+        System.out.printf(Locale.ROOT, "cells %,d (%,d placed) in %.2f s: %,.0f cells/s, %,.0f chunks/s%n",
+                tally.cells, tally.placed, seconds, tally.cells / seconds, chunks / seconds);
+        System.out.printf(Locale.ROOT, "chests   %,10.1f per 1000 chunks%n", tally.chests * 1000.0 / chunks);
+        System.out.printf(Locale.ROOT, "spawners %,10.1f per 1000 chunks%n", tally.spawners * 1000.0 / chunks);
+        if (settings.tileCaps().enabled()) {
+            System.out.printf(Locale.ROOT, "tile caps re-rolled %,d chests and %,d spawners%n", tally.chestRerolls, tally.spawnerRerolls);
+        }
+        System.out.printf(Locale.ROOT, "tile entities per chunk: p50 %d, p99 %d, max %d%n",
+                tally.tilePercentile(0.50), tally.tilePercentile(0.99), tally.maxTiles);
+        System.out.println();
+
+        Material[] materials = Material.values();
+        Integer[] order = new Integer[materials.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(tally.materials[b], tally.materials[a]));
+
+        for (int i : order) {
+            if (tally.materials[i] == 0) break;
+            System.out.printf(Locale.ROOT, "  %-32s %,14d  %7.3f%%  %9.2f/chunk%n",
+                    materials[i].name(), tally.materials[i], tally.materials[i] * 100.0 / Math.max(1, tally.placed),
+                    tally.materials[i] / (double) chunks);
+        }
+    }
+
+    private record Region(WorldSettings settings, BiomeSampler sampler, long seed,
+                          int minChunkX, int minChunkZ, int size, int minHeight, int maxHeight) {}
+
+    private static final class Tally {
+        final long[] materials = new long[Material.values().length];
+        final long[] tilesPerChunk = new long[MAX_TILES_PER_CHUNK + 1];
+        long cells;
+        long placed;
+        long chests;
+        long spawners;
+        long chestRerolls;
+        long spawnerRerolls;
+        int maxTiles;
+
+        Tally merge(Tally other) {
+            for (int i = 0; i < materials.length; i++) materials[i] += other.materials[i];
+            for (int i = 0; i < tilesPerChunk.length; i++) tilesPerChunk[i] += other.tilesPerChunk[i];
+            cells += other.cells;
+            placed += other.placed;
+            chests += other.chests;
+            spawners += other.spawners;
+            chestRerolls += other.chestRerolls;
+            spawnerRerolls += other.spawnerRerolls;
+            maxTiles = Math.max(maxTiles, other.maxTiles);
+            return this;
+        }
+
+        int tilePercentile(double p) {
+            long total = 0;
+            for (long c : tilesPerChunk) total += c;
+            if (total == 0) return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(total * p));
+            long seen = 0;
+            for (int i = 0; i < tilesPerChunk.length; i++) {
+                seen += tilesPerChunk[i];
+                if (seen >= rank) return i;
+            }
+            return MAX_TILES_PER_CHUNK;
+        }
+    }
+
+    private static final class Simulation extends RecursiveTask<Tally> {
+
+        private final Region region;
+        private final int from;
+        private final int to;
+
+        Simulation(Region region, int from, int to) {
+            this.region = region;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > LEAF) {
+                int mid = (from + to) >>> 1;
+                Simulation left = new Simulation(region, from, mid);
+                left.fork();
+                Tally right = new Simulation(region, mid, to).compute();
+                return right.merge(left.join());
+            }
+
+            Tally tally = new Tally();
+            for (int i = from; i < to; i++) {
+                chunk(tally, region.minChunkX() + i % region.size(), region.minChunkZ() + i / region.size());
+            }
+            return tally;
+        }
+
+        private void chunk(Tally tally, int chunkX, int chunkZ) {
+            WorldSettings settings = region.settings();
+            TileBudget budget = TileBudget.of(settings, region.seed(), chunkX, chunkZ);
+            int[] tiles = new int[1];
+
+            for (GridLayer layer : settings.layers()) {
+                tally.cells += layer.layout().cells(chunkX, chunkZ, region.minHeight(), region.maxHeight()).length;
+            }
+
+            Map<Integer, GridEntry> layered = (settings.layers().size() > 1) ? new HashMap<>() : null;
+
+            GridSelector.chunk(settings, region.seed(), chunkX, chunkZ, region.minHeight(), region.maxHeight(), budget,
+                    (palettes, x, y, z) -> palettes.get(region.sampler().biome(x, y, z)),
+                    (x, y, z, palette, index) -> {
+                        if (layered != null) layered.put((y << 8) | ((z & 15) << 4) | (x & 15), palette.entry(index));
+                        else tiles[0] += count(tally, palette.entry(index));
+                    });
+
+            if (layered != null) {
+                for (GridEntry picked : layered.values()) tiles[0] += count(tally, picked);
+            }
+
+            if (budget != null) {
+                tally.chestRerolls += budget.chestRerolls();
+                tally.spawnerRerolls += budget.spawnerRerolls();
+            }
+
+            tally.tilesPerChunk[Math.min(MAX_TILES_PER_CHUNK, tiles[0])]++;
+            tally.maxTiles = Math.max(tally.maxTiles, tiles[0]);
+        }
+
+        private static int count(Tally tally, GridEntry picked) {
+            tally.placed++;
+            tally.materials[picked.material().ordinal()]++;
+
+            if (picked.isChest()) {
+                tally.chests++;
+                return 1;
+            }
+            if (picked.isSpawner()) {
+                tally.spawners++;
+                return 1;
+            }
+            return 0;
+        }
+    }
+}
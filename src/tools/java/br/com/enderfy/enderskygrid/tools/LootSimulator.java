@@ -0,0 +1,182 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.generator.GridRandom;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Material;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+public final class LootSimulator {
+
+    private static final int LEAF = 20_000;
+
+    private LootSimulator() {}
+
+    public static void main(String[] args) {
+        ToolArgs options = new ToolArgs(args);
+        Logger logger = Logger.getLogger("EnderSkyGrid");
+
+        SkyGridConfig config = options.config(logger);
+        long chests = Math.max(1, options.number("chests", 1_000_000));
+        long seed = options.number("seed", 0L);
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+
+        Map<String, LootTable> tables = new TreeMap<>();
+        config.lootTables().forEach((name, def) -> {
+            if (def.table() != null) tables.put(name, def.table());
+        });
+
+        try {
+            System.out.printf(Locale.ROOT, "Simulating %,d chests per table/pool on %d threads%n%n", chests, pool.getParallelism());
+
+            for (Map.Entry<String, LootTable> e : tables.entrySet()) {
+                long start = System.nanoTime();
+                Tally tally = pool.invoke(new Simulation(null, Map.of(e.getKey(), e.getValue()), e.getKey(), seed, 0, chests));
+                print("table " + e.getKey(), tally, chests, System.nanoTime() - start);
+            }
+
+            for (List<String> poolNames : config.lootPools().pools()) {
+                LootPoolPlan plan = config.lootPools().plan(poolNames);
+
+                long start = System.nanoTime();
+                Tally tally = pool.invoke(new Simulation(plan, tables, null, seed, 0, chests));
+                print("pool " + poolNames, tally, chests, System.nanoTime() - start);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void print(String title, Tally tally, long chests, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+
+        System.out.printf(Locale.ROOT, "== %s: %,.0f chests/s, %.3f stacks/chest, %.2f%% empty%n",
+                title, chests / seconds, tally.stacks / (double) chests, tally.empty * 100.0 / chests);
+
+        if (tally.tables.size() > 1) {
+            tally.tables.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(e -> System.out.printf(Locale.ROOT, "   table %-24s %7.3f%%%n", e.getKey(), e.getValue() * 100.0 / chests));
+        }
+
+        Material[] materials = Material.values();
+        Integer[] order = new Integer[materials.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(tally.items[b], tally.items[a]));
+
+        for (int i : order) {
+            if (tally.stacksOf[i] == 0) break;
+            System.out.printf(Locale.ROOT, "   %-32s %9.4f items/chest  %8.4f stacks/chest%n",
+                    materials[i].name(), tally.items[i] / (double) chests, tally.stacksOf[i] / (double) chests);
+        }
+        System.out.println();
+    }
+
+    private static final class Tally {
+        final long[] items = new long[Material.values().length];
+        final long[] stacksOf = new long[items.length];
+        final Map<String, Long> tables = new HashMap<>();
+        long stacks;
+        long empty;
+
+        Tally merge(Tally other) {
+            for (int i = 0; i < items.length; i++) {
+                items[i] += other.items[i];
+                stacksOf[i] += other.stacksOf[i];
+            }
+            other.tables.forEach((k, v) -> tables.merge(k, v, Long::sum));
+            stacks += other.stacks;
+            empty += other.empty;
+            return this;
+        }
+    }
+
+    private static final class Simulation extends RecursiveTask<Tally> {
+
+        private final LootPoolPlan plan;
+        private final Map<String, LootTable> tables;
+        private final String single;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        Simulation(LootPoolPlan plan, Map<String, LootTable> tables, String single, long seed, long from, long to) {
+            this.plan = plan;
+            this.tables = tables;
+            this.single = single;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > LEAF) {
+                long mid = (from + to) >>> 1;
+                Simulation left = new Simulation(plan, tables, single, seed, from, mid);
+                left.fork();
+                Tally right = new Simulation(plan, tables, single, seed, mid, to).compute();
+                return right.merge(left.join());
+            }
+
+            Tally tally = new Tally();
+            Map<LootTable, String> names = new IdentityHashMap<>();
+            tables.forEach((name, table) -> names.putIfAbsent(table, name));
+
+            Random random = new Random();
+            LootEntry[] picked = new LootEntry[64];
+            int[] amounts = new int[64];
+            long[] perTable = new long[tables.size() + 1];
+            Map<LootTable, Integer> tableIndex = new IdentityHashMap<>();
+            List<String> indexNames = new ArrayList<>();
+
+            for (long i = from; i < to; i++) {
+                long chestSeed = GridRandom.mix64(seed + i * 0x9E3779B97F4A7C15L);
+
+                LootTable table;
+                if (plan != null) {
+                    random.setSeed(chestSeed);
+                    table = plan.pick(random);
+                } else {
+                    table = tables.get(single);
+                }
+
+                if (table == null) {
+                    tally.empty++;
+                    continue;
+                }
+
+                Integer index = tableIndex.get(table);
+                if (index == null) {
+                    index = indexNames.size();
+                    tableIndex.put(table, index);
+                    indexNames.add(names.getOrDefault(table, "?"));
+                    if (index >= perTable.length) perTable = Arrays.copyOf(perTable, index + 1);
+                }
+                perTable[index]++;
+
+                if (picked.length < table.maxRolls()) {
+                    picked = new LootEntry[table.maxRolls()];
+                    amounts = new int[table.maxRolls()];
+                }
+
+                random.setSeed(chestSeed);
+                int count = Math.min(27, table.rollInto(random, picked, amounts));
+                if (count == 0) tally.empty++;
+
+                tally.stacks += count;
+                for (int k = 0; k < count; k++) {
+                    int ordinal = picked[k].material().ordinal();
+                    tally.items[ordinal] += amounts[k];
+                    tally.stacksOf[ordinal]++;
+                }
+            }
+
+            for (int k = 0; k < indexNames.size(); k++) tally.tables.merge(indexNames.get(k), perTable[k], Long::sum);
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import org.bukkit.Material;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+final class MapColors {
+
+    static final int TRANSPARENT = 0;
+
+    private static final int FALLBACK = 0xFF808080;
+    private static final int UNMAPPED = 1;
+
+    private final int[] colors;
+    private final long fingerprint;
+
+    private MapColors(int[] colors, long fingerprint) {
+        this.colors = colors;
+        this.fingerprint = fingerprint;
+    }
+
+    static MapColors load(String path) {
+        String text;
+        try {
+            if (path != null) {
+                text = Files.readString(Path.of(path), StandardCharsets.UTF_8);
+            } else {
+                try (InputStream in = MapColors.class.getResourceAsStream("/map-colors.txt")) {
+                    if (in == null) throw new IllegalStateException("map-colors.txt not found on the classpath");
+                    text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        List<Pattern> patterns = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+
+        for (String line : text.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) continue;
+
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 2) throw new IllegalArgumentException("Bad map color line: " + trimmed);
+
+            patterns.add(Pattern.compile(parts[0].toUpperCase(Locale.ROOT).replace("*", ".*")));
+            values.add(parts[1].equals("-") ? TRANSPARENT : 0xFF000000 | Integer.parseInt(parts[1], 16));
+        }
+
+        Material[] materials = Material.values();
+        int[] colors = new int[materials.length];
+
+        for (Material material : materials) {
+            colors[material.ordinal()] = UNMAPPED;
+            for (int i = 0; i < patterns.size(); i++) {
+                if (patterns.get(i).matcher(material.name()).matches()) {
+                    colors[material.ordinal()] = values.get(i);
+                    break;
+                }
+            }
+        }
+        return new MapColors(colors, text.hashCode());
+    }
+
+    int color(Material material) {
+        int color = colors[material.ordinal()];
+        return (color == UNMAPPED) ? FALLBACK : color;
+    }
+
+    boolean mapped(Material material) {
+        return colors[material.ordinal()] != UNMAPPED;
+    }
+
+    long fingerprint() {
+        return fingerprint;
+    }
+}
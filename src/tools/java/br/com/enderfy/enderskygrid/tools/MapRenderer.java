@@ -0,0 +1,379 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.generator.GridRandom;
+import br.com.enderfy.enderskygrid.generator.GridSelector;
+import br.com.enderfy.enderskygrid.generator.SkyGridGenerator;
+import br.com.enderfy.enderskygrid.generator.TileBudget;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.World;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+public final class MapRenderer {
+
+    private static final int TILE = 512;
+    private static final int TILE_CHUNKS = TILE >> 4;
+    private static final String MANIFEST = "manifest.txt";
+
+    private MapRenderer() {}
+
+    public static void main(String[] args) {
+        ToolArgs options = new ToolArgs(args);
+        SkyGridConfig config = options.config(Logger.getLogger("EnderSkyGrid"));
+
+        String world = options.string("world", "overworld").toLowerCase(Locale.ROOT);
+        World.Environment environment = switch (world) {
+            case "overworld" -> World.Environment.NORMAL;
+            case "nether" -> World.Environment.NETHER;
+            case "end" -> World.Environment.THE_END;
+            default -> throw new IllegalArgumentException("--world must be overworld, nether or end");
+        };
+        WorldSettings settings = SkyGridGenerator.profileSettings(config, options.profile(world), environment);
+
+        boolean overworld = world.equals("overworld");
+        int minHeight = (int) options.number("min-height", overworld ? -64 : 0);
+        int maxHeight = (int) options.number("max-height", overworld ? 320 : 256);
+
+        int radius = (int) Math.max(0, options.number("radius", 2048));
+        int centerX = (int) options.number("center-x", 0);
+        int centerZ = (int) options.number("center-z", 0);
+        int levels = (int) Math.max(1, options.number("zoom-levels", 4));
+        long seed = options.number("seed", 0L);
+        Path out = Path.of(options.string("out", "build/skygrid-map/" + world));
+
+        String biome = options.string("biome", settings.biomeCells().enabled() ? "provider" : "default");
+        BiomeSampler sampler = BiomeSampler.parse(biome, settings, seed);
+        MapColors colors = MapColors.load(options.string("colors", null));
+
+        Set<String> unmapped = new TreeSet<>();
+        for (GridPalette palette : settings.palettes().byName().values()) {
+            for (GridEntry entry : palette.entries()) {
+                if (!colors.mapped(entry.material())) unmapped.add(entry.material().name());
+            }
+        }
+        if (!unmapped.isEmpty()) System.out.println("No map color for " + String.join(", ", unmapped) + ", drawing them gray");
+
+        Render render = new Render(settings, sampler, colors, seed, minHeight, maxHeight);
+
+        long fingerprint = fingerprint(settings, colors, biome, seed, minHeight, maxHeight);
+        Manifest manifest = Manifest.load(out.resolve(MANIFEST), fingerprint);
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+
+        try {
+            long start = System.nanoTime();
+
+            List<long[]> tiles = new ArrayList<>();
+            for (int tz = Math.floorDiv(centerZ - radius, TILE); tz <= Math.floorDiv(centerZ + radius, TILE); tz++) {
+                for (int tx = Math.floorDiv(centerX - radius, TILE); tx <= Math.floorDiv(centerX + radius, TILE); tx++) {
+                    tiles.add(new long[]{tx, tz});
+                }
+            }
+
+            AtomicInteger skipped = new AtomicInteger();
+            Set<Long> rerendered = ConcurrentHashMap.newKeySet();
+
+            pool.submit(() -> tiles.parallelStream().forEach(tile -> {
+                int tx = (int) tile[0];
+                int tz = (int) tile[1];
+                if (manifest.current(0, tx, tz) && Files.isRegularFile(tilePath(out, 0, tx, tz))) {
+                    skipped.incrementAndGet();
+                    return;
+                }
+
+                int[] pixels = render.tile(tx, tz);
+                if (manifest.store(0, tx, tz, pixels, tilePath(out, 0, tx, tz))) rerendered.add(key(tx, tz));
+            })).join();
+
+            int rendered = tiles.size() - skipped.get();
+            int parents = 0;
+            Set<Long> changed = rerendered;
+
+            for (int level = 1; level < levels; level++) {
+                final int zoom = level;
+                Set<Long> dirty = new HashSet<>();
+                for (long child : changed) dirty.add(key(x(child) >> 1, z(child) >> 1));
+
+                Set<Long> present = new HashSet<>();
+                for (long[] tile : tiles) present.add(key((int) tile[0] >> zoom, (int) tile[1] >> zoom));
+                for (long parent : present) {
+                    if (!manifest.current(zoom, x(parent), z(parent)) || !Files.isRegularFile(tilePath(out, zoom, x(parent), z(parent)))) dirty.add(parent);
+                }
+
+                Set<Long> next = ConcurrentHashMap.newKeySet();
+                pool.submit(() -> dirty.parallelStream().forEach(parent -> {
+                    int[] pixels = downsample(out, zoom - 1, x(parent), z(parent));
+                    if (manifest.store(zoom, x(parent), z(parent), pixels, tilePath(out, zoom, x(parent), z(parent)))) next.add(parent);
+                })).join();
+
+                parents += dirty.size();
+                changed = next;
+            }
+
+            manifest.save();
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            long chunks = (long) rendered * TILE_CHUNKS * TILE_CHUNKS;
+            System.out.printf(Locale.ROOT, "%s: %d base tiles rendered, %d unchanged, %d zoomed-out tiles in %.2f s (%,.0f chunks/s)%n",
+                    world, rendered, skipped.get(), parents, seconds, chunks / Math.max(seconds, 1e-9));
+            System.out.println("Tiles are in " + out + "/<zoom>/<x>/<z>.png, zoom 0 is one pixel per block");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int[] downsample(Path out, int childLevel, int parentX, int parentZ) {
+        int[] pixels = new int[TILE * TILE];
+
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            int childX = (parentX << 1) | (quadrant & 1);
+            int childZ = (parentZ << 1) | (quadrant >> 1);
+            Path file = tilePath(out, childLevel, childX, childZ);
+            if (!Files.isRegularFile(file)) continue;
+
+            int[] child = read(file);
+            int offsetX = (quadrant & 1) * (TILE >> 1);
+            int offsetZ = (quadrant >> 1) * (TILE >> 1);
+
+            for (int z = 0; z < TILE >> 1; z++) {
+                for (int x = 0; x < TILE >> 1; x++) {
+                    int at = (z << 1) * TILE + (x << 1);
+                    pixels[(offsetZ + z) * TILE + offsetX + x] = average(child[at], child[at + 1], child[at + TILE], child[at + TILE + 1]);
+                }
+            }
+        }
+        return pixels;
+    }
+
+    private static int average(int a, int b, int c, int d) {
+        int r = 0;
+        int g = 0;
+        int bl = 0;
+        int n = 0;
+
+        for (int argb : new int[]{a, b, c, d}) {
+            if ((argb >>> 24) == 0) continue;
+            r += (argb >> 16) & 0xFF;
+            g += (argb >> 8) & 0xFF;
+            bl += argb & 0xFF;
+            n++;
+        }
+        return (n == 0) ? MapColors.TRANSPARENT : 0xFF000000 | ((r / n) << 16) | ((g / n) << 8) | (bl / n);
+    }
+
+    private static int[] read(Path file) {
+        try {
+            BufferedImage image = ImageIO.read(file.toFile());
+            if (image == null || image.getWidth() != TILE || image.getHeight() != TILE) return new int[TILE * TILE];
+            return image.getRGB(0, 0, TILE, TILE, null, 0, TILE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void write(Path file, int[] pixels) {
+        BufferedImage image = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, TILE, TILE, pixels, 0, TILE);
+
+        try {
+            Files.createDirectories(file.getParent());
+            ImageIO.write(image, "png", file.toFile());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Path tilePath(Path out, int level, int tx, int tz) {
+        return out.resolve(level + "/" + tx + "/" + tz + ".png");
+    }
+
+    private static long fingerprint(WorldSettings settings, MapColors colors, String biome, long seed, int minHeight, int maxHeight) {
+        StringBuilder text = new StringBuilder();
+        text.append(seed).append('|').append(minHeight).append('|').append(maxHeight).append('|').append(biome.toLowerCase(Locale.ROOT))
+                .append('|').append(settings.legacyRandom()).append('|').append(settings.tileCaps()).append('|').append(settings.defaultBiome())
+                .append('|').append(settings.biomeCells());
+
+        for (GridLayer layer : settings.layers()) {
+            text.append("|layer ").append(layer.name()).append(' ').append(layer.spacing()).append(' ').append(layer.minY()).append(' ').append(layer.maxY())
+                    .append(' ').append(layer.noise());
+
+            List<String> names = new ArrayList<>(layer.palettes().byName().keySet());
+            Collections.sort(names);
+            for (String name : names) {
+                text.append(' ').append(name).append(':');
+                for (GridEntry entry : layer.palettes().byName().get(name).entries()) {
+                    text.append(entry.material().name()).append('=').append(entry.weight()).append(',');
+                }
+            }
+        }
+
+        long h = GridRandom.mix64(colors.fingerprint());
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) h = GridRandom.mix64(h ^ b);
+        return h;
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int x(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int z(long key) {
+        return (int) key;
+    }
+
+    private static final class Render {
+
+        final WorldSettings settings;
+        final BiomeSampler sampler;
+        final MapColors colors;
+        final long seed;
+        final int minHeight;
+        final int maxHeight;
+        final int shadeLow;
+        final int shadeSpan;
+
+        Render(WorldSettings settings, BiomeSampler sampler, MapColors colors, long seed, int minHeight, int maxHeight) {
+            this.settings = settings;
+            this.sampler = sampler;
+            this.colors = colors;
+            this.seed = seed;
+            this.minHeight = minHeight;
+            this.maxHeight = maxHeight;
+
+            int low = maxHeight;
+            int high = minHeight;
+            for (GridLayer layer : settings.layers()) {
+                low = Math.min(low, Math.max(layer.minY(), minHeight));
+                high = Math.max(high, Math.min(layer.maxY(), maxHeight - 1));
+            }
+            this.shadeLow = Math.min(low, high);
+            this.shadeSpan = Math.max(1, high - this.shadeLow);
+        }
+
+        int[] tile(int tx, int tz) {
+            int[] pixels = new int[TILE * TILE];
+
+            IntStream.range(0, TILE_CHUNKS * TILE_CHUNKS).parallel().forEach(i -> {
+                int chunkX = tx * TILE_CHUNKS + (i % TILE_CHUNKS);
+                int chunkZ = tz * TILE_CHUNKS + (i / TILE_CHUNKS);
+                chunk(chunkX, chunkZ, pixels, ((i / TILE_CHUNKS) << 4) * TILE + ((i % TILE_CHUNKS) << 4));
+            });
+            return pixels;
+        }
+
+        private void chunk(int chunkX, int chunkZ, int[] pixels, int offset) {
+            int[] tops = new int[256];
+            int[] argb = new int[256];
+            Arrays.fill(tops, Integer.MIN_VALUE);
+
+            GridSelector.chunk(settings, seed, chunkX, chunkZ, minHeight, maxHeight, TileBudget.of(settings, seed, chunkX, chunkZ),
+                    (palettes, x, y, z) -> palettes.get(sampler.biome(x, y, z)),
+                    (x, y, z, palette, index) -> {
+                        int color = colors.color(palette.entry(index).material());
+                        int column = ((z & 15) << 4) | (x & 15);
+                        if (color == MapColors.TRANSPARENT || y < tops[column]) return;
+
+                        tops[column] = y;
+                        argb[column] = color;
+                    });
+
+            for (int column = 0; column < 256; column++) {
+                if (tops[column] == Integer.MIN_VALUE) continue;
+                pixels[offset + (column >> 4) * TILE + (column & 15)] = shade(argb[column], tops[column]);
+            }
+        }
+
+        private int shade(int argb, int y) {
+            double t = Math.clamp((y - shadeLow) / (double) shadeSpan, 0.0, 1.0);
+            double factor = 0.55 + 0.45 * t;
+
+            int r = (int) (((argb >> 16) & 0xFF) * factor);
+            int g = (int) (((argb >> 8) & 0xFF) * factor);
+            int b = (int) ((argb & 0xFF) * factor);
+            return 0xFF000000 | (r << 16) | (g << 8) | b;
+        }
+    }
+
+    private static final class Manifest {
+
+        private final Path file;
+        private final long fingerprint;
+        private final Map<String, Long> tiles = new ConcurrentHashMap<>();
+        private final Set<String> current = ConcurrentHashMap.newKeySet();
+
+        private Manifest(Path file, long fingerprint) {
+            this.file = file;
+            this.fingerprint = fingerprint;
+        }
+
+        static Manifest load(Path file, long fingerprint) {
+            Manifest manifest = new Manifest(file, fingerprint);
+            if (!Files.isRegularFile(file)) return manifest;
+
+            try {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                boolean same = !lines.isEmpty() && lines.get(0).equals("fingerprint " + hex(fingerprint));
+
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    String[] parts = line.trim().split(" ");
+                    if (parts.length != 2) continue;
+
+                    manifest.tiles.put(parts[0], Long.parseUnsignedLong(parts[1], 16));
+                    if (same) manifest.current.add(parts[0]);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return manifest;
+        }
+
+        boolean current(int level, int tx, int tz) {
+            return current.contains(level + "/" + tx + "/" + tz);
+        }
+
+        boolean store(int level, int tx, int tz, int[] pixels, Path path) {
+            String name = level + "/" + tx + "/" + tz;
+
+            long h = GridRandom.mix64(pixels.length);
+            for (int pixel : pixels) h = GridRandom.mix64(h ^ pixel);
+
+            current.add(name);
+            Long previous = tiles.put(name, h);
+            if (previous != null && previous == h && Files.isRegularFile(path)) return false;
+
+            write(path, pixels);
+            return true;
+        }
+
+        void save() {
+            StringBuilder text = new StringBuilder("fingerprint ").append(hex(fingerprint)).append('\n');
+            new TreeMap<>(tiles).forEach((name, h) -> text.append(name).append(' ').append(hex(h)).append('\n'));
+
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.writeString(file, text, StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private static String hex(long value) {
+            return String.format(Locale.ROOT, "%016x", value);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+final class NbtWriter {
+
+    static final int BYTE = 1;
+    static final int SHORT = 2;
+    static final int INT = 3;
+    static final int LONG = 4;
+    static final int STRING = 8;
+    static final int LIST = 9;
+    static final int COMPOUND = 10;
+    static final int LONG_ARRAY = 12;
+
+    private final DataOutputStream out;
+
+    NbtWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    NbtWriter beginRoot() throws IOException {
+        return beginCompound("");
+    }
+
+    NbtWriter beginCompound(String name) throws IOException {
+        header(COMPOUND, name);
+        return this;
+    }
+
+    NbtWriter end() throws IOException {
+        out.writeByte(0);
+        return this;
+    }
+
+    NbtWriter beginList(String name, int elementType, int size) throws IOException {
+        header(LIST, name);
+        out.writeByte(size == 0 ? 0 : elementType);
+        out.writeInt(size);
+        return this;
+    }
+
+    NbtWriter putByte(String name, int value) throws IOException {
+        header(BYTE, name);
+        out.writeByte(value);
+        return this;
+    }
+
+    NbtWriter putShort(String name, int value) throws IOException {
+        header(SHORT, name);
+        out.writeShort(value);
+        return this;
+    }
+
+    NbtWriter putInt(String name, int value) throws IOException {
+        header(INT, name);
+        out.writeInt(value);
+        return this;
+    }
+
+    NbtWriter putLong(String name, long value) throws IOException {
+        header(LONG, name);
+        out.writeLong(value);
+        return this;
+    }
+
+    NbtWriter putString(String name, String value) throws IOException {
+        header(STRING, name);
+        out.writeUTF(value);
+        return this;
+    }
+
+    NbtWriter putLongArray(String name, long[] values, int length) throws IOException {
+        header(LONG_ARRAY, name);
+        out.writeInt(length);
+        for (int i = 0; i < length; i++) out.writeLong(values[i]);
+        return this;
+    }
+
+    NbtWriter string(String value) throws IOException {
+        out.writeUTF(value);
+        return this;
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private void header(int type, String name) throws IOException {
+        out.writeByte(type);
+        out.writeUTF(name);
+    }
+}
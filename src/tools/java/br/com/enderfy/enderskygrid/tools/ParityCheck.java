@@ -0,0 +1,113 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.generator.ParityHashes;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+public final class ParityCheck {
+
+    private ParityCheck() {}
+
+    public static void main(String[] args) {
+        ToolArgs options = new ToolArgs(args);
+        boolean record = Boolean.parseBoolean(options.string("record", "false"));
+        Path golden = Path.of(options.string("golden", "src/test/resources/parity-golden.txt"));
+        Path layers = Path.of(options.string("layers", "src/test/resources/parity-layers.yml"));
+        int radius = (int) Math.max(1, options.number("radius", ParityHashes.RADIUS));
+        int rolls = (int) Math.max(1, options.number("rolls", ParityHashes.ROLLS));
+
+        Set<String> sections = new LinkedHashSet<>();
+        for (String s : options.string("sections", String.join(",", ParityHashes.SECTIONS)).split(",")) {
+            String section = s.trim().toLowerCase(Locale.ROOT);
+            if (!ParityHashes.SECTIONS.contains(section)) throw new IllegalArgumentException("Unknown section " + section + ", expected one of " + ParityHashes.SECTIONS);
+            sections.add(section);
+        }
+
+        Logger logger = Logger.getLogger("EnderSkyGrid");
+        SkyGridConfig config = options.config(logger, "src/test/resources/parity-config.yml");
+        SkyGridConfig layered;
+        try (Reader reader = Files.newBufferedReader(layers, StandardCharsets.UTF_8)) {
+            layered = ParityHashes.config(reader, logger);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+        Map<String, Long> results;
+        try {
+            results = ParityHashes.compute(sections, config, layered, radius, rolls, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        if (record) {
+            record(golden, results);
+            return;
+        }
+        if (!check(golden, results, sections)) System.exit(1);
+    }
+
+    private static void record(Path golden, Map<String, Long> results) {
+        Map<String, Long> merged = new TreeMap<>(load(golden));
+        merged.putAll(results);
+
+        try {
+            Path parent = golden.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Files.writeString(golden, ParityHashes.format(merged), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        System.out.printf(Locale.ROOT, "Recorded %d hashes (%d total) to %s%n", results.size(), merged.size(), golden);
+    }
+
+    private static boolean check(Path golden, Map<String, Long> results, Set<String> sections) {
+        Map<String, Long> expected = load(golden);
+        int matched = 0;
+        int unrecorded = 0;
+        int mismatched = 0;
+        int missing = 0;
+
+        for (Map.Entry<String, Long> e : results.entrySet()) {
+            Long want = expected.get(e.getKey());
+            if (want == null) {
+                System.out.println("UNRECORDED " + e.getKey());
+                unrecorded++;
+            } else if (want.longValue() != e.getValue()) {
+                System.out.printf(Locale.ROOT, "MISMATCH   %s expected %016x got %016x%n", e.getKey(), want, e.getValue());
+                mismatched++;
+            } else {
+                matched++;
+            }
+        }
+
+        for (String key : expected.keySet()) {
+            if (results.containsKey(key) || !sections.contains(ParityHashes.section(key))) continue;
+            System.out.println("MISSING    " + key);
+            missing++;
+        }
+
+        System.out.printf(Locale.ROOT, "%d matched, %d mismatched, %d unrecorded, %d missing%n", matched, mismatched, unrecorded, missing);
+        if (unrecorded > 0) System.out.println("Record new hashes from a trusted commit with --record true");
+        return mismatched == 0 && unrecorded == 0 && missing == 0;
+    }
+
+    private static Map<String, Long> load(Path golden) {
+        if (!Files.isRegularFile(golden)) return Map.of();
+
+        try {
+            return ParityHashes.parse(Files.readAllLines(golden, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
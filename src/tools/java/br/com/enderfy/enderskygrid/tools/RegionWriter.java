@@ -0,0 +1,365 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.generator.GridSelector;
+import br.com.enderfy.enderskygrid.generator.SkyGridGenerator;
+import br.com.enderfy.enderskygrid.generator.SkyGridPopulator;
+import br.com.enderfy.enderskygrid.generator.TileBudget;
+import br.com.enderfy.enderskygrid.model.*;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+public final class RegionWriter {
+
+    private static final int DEFAULT_DATA_VERSION = 4189;
+    private static final int SECTOR = 4096;
+    private static final int ZLIB = 2;
+    private static final String POOL_ID_KEY = "enderskygrid:skygrid_chest_pool_id";
+    private static final String SPAWNER_KEY = "enderskygrid:skygrid_spawner";
+
+    private RegionWriter() {}
+
+    public static void main(String[] args) {
+        ToolArgs options = new ToolArgs(args);
+        SkyGridConfig config = options.config(Logger.getLogger("EnderSkyGrid"));
+
+        String world = options.string("world", "overworld").toLowerCase(Locale.ROOT);
+        World.Environment environment = switch (world) {
+            case "overworld" -> World.Environment.NORMAL;
+            case "nether" -> World.Environment.NETHER;
+            case "end" -> World.Environment.THE_END;
+            default -> throw new IllegalArgumentException("--world must be overworld, nether or end");
+        };
+        String profile = options.profile(world);
+        WorldSettings settings = SkyGridGenerator.profileSettings(config, profile, environment);
+
+        boolean overworld = environment == World.Environment.NORMAL;
+        int minHeight = (int) options.number("min-height", overworld ? -64 : 0);
+        int maxHeight = (int) options.number("max-height", overworld ? 320 : 256);
+        if ((minHeight & 15) != 0 || (maxHeight & 15) != 0 || maxHeight <= minHeight) {
+            throw new IllegalArgumentException("--min-height and --max-height must be multiples of 16");
+        }
+
+        int radius = (int) Math.max(0, options.number("radius", 10_000));
+        int centerX = (int) options.number("center-x", 0);
+        int centerZ = (int) options.number("center-z", 0);
+        long seed = options.number("seed", 0L);
+        int dataVersion = (int) options.number("data-version", DEFAULT_DATA_VERSION);
+        Path out = Path.of(options.string("out", "build/skygrid-regions/" + world));
+        BiomeSampler sampler = BiomeSampler.parse(options.string("biome", settings.biomeCells().enabled() ? "provider" : "default"), settings, seed);
+
+        if (options.string("data-folder", null) == null) {
+            System.out.println("No --data-folder given: chest pool ids follow config order and may not match the server's loot-pools.yml");
+        }
+
+        Bake bake = new Bake(config, settings, profile, sampler, seed, minHeight, maxHeight, dataVersion,
+                Math.floorDiv(centerX - radius, 16), Math.floorDiv(centerZ - radius, 16),
+                Math.floorDiv(centerX + radius, 16), Math.floorDiv(centerZ + radius, 16));
+
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+        try {
+            Files.createDirectories(out);
+            long start = System.nanoTime();
+            long bytes = 0L;
+            int regions = 0;
+
+            for (int regionZ = bake.minChunkZ >> 5; regionZ <= bake.maxChunkZ >> 5; regionZ++) {
+                for (int regionX = bake.minChunkX >> 5; regionX <= bake.maxChunkX >> 5; regionX++) {
+                    final int rx = regionX;
+                    final int rz = regionZ;
+                    byte[][] chunks = pool.submit(() -> IntStream.range(0, 1024).parallel()
+                            .mapToObj(i -> bake.chunk((rx << 5) | (i & 31), (rz << 5) | (i >> 5)))
+                            .toArray(byte[][]::new)).join();
+
+                    bytes += writeRegion(out.resolve("r." + rx + "." + rz + ".mca"), chunks);
+                    regions++;
+                }
+            }
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf(Locale.ROOT, "%s: %,d regions, %,d chunks, %,d chests, %,d spawners, %,.1f MiB in %.2f s (%,.0f chunks/s)%n",
+                    world, regions, bake.chunks.sum(), bake.chests.sum(), bake.spawners.sum(), bytes / 1048576.0, seconds, bake.chunks.sum() / seconds);
+            System.out.println("Copy " + out + " into <world>/" + switch (environment) {
+                case NETHER -> "DIM-1/region";
+                case THE_END -> "DIM1/region";
+                default -> "region";
+            } + " before the world is first loaded");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long writeRegion(Path file, byte[][] chunks) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(2 * SECTOR);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int sector = 2;
+
+        for (int i = 0; i < chunks.length; i++) {
+            byte[] data = chunks[i];
+            if (data == null) continue;
+
+            int length = data.length + 1;
+            int sectors = (length + 4 + SECTOR - 1) / SECTOR;
+            if (sectors > 255) throw new IllegalStateException("Chunk " + i + " of " + file + " needs " + sectors + " sectors");
+
+            header.putInt(i * 4, (sector << 8) | sectors);
+            body.write(length >>> 24);
+            body.write(length >>> 16);
+            body.write(length >>> 8);
+            body.write(length);
+            body.write(ZLIB);
+            body.write(data);
+            body.write(new byte[sectors * SECTOR - length - 4]);
+            sector += sectors;
+        }
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(header.array());
+            body.writeTo(out);
+        }
+        return header.capacity() + (long) body.size();
+    }
+
+    private static final class Bake {
+
+        final SkyGridConfig config;
+        final WorldSettings settings;
+        final String profile;
+        final BiomeSampler sampler;
+        final long seed;
+        final int minHeight;
+        final int maxHeight;
+        final int dataVersion;
+        final int minChunkX;
+        final int minChunkZ;
+        final int maxChunkX;
+        final int maxChunkZ;
+        final LongAdder chunks = new LongAdder();
+        final LongAdder chests = new LongAdder();
+        final LongAdder spawners = new LongAdder();
+        final ThreadLocal<Scratch> scratch;
+
+        Bake(SkyGridConfig config, WorldSettings settings, String profile, BiomeSampler sampler, long seed,
+             int minHeight, int maxHeight, int dataVersion, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+            this.config = config;
+            this.settings = settings;
+            this.profile = profile;
+            this.sampler = sampler;
+            this.seed = seed;
+            this.minHeight = minHeight;
+            this.maxHeight = maxHeight;
+            this.dataVersion = dataVersion;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+            this.scratch = ThreadLocal.withInitial(() -> new Scratch(maxHeight - minHeight));
+        }
+
+        byte[] chunk(int chunkX, int chunkZ) {
+            if (chunkX < minChunkX || chunkX > maxChunkX || chunkZ < minChunkZ || chunkZ > maxChunkZ) return null;
+
+            Scratch s = scratch.get();
+            s.reset();
+
+            GridSelector.chunk(settings, seed, chunkX, chunkZ, minHeight, maxHeight, TileBudget.of(settings, seed, chunkX, chunkZ),
+                    (palettes, x, y, z) -> palettes.get(sampler.biome(x, y, z)),
+                    (x, y, z, palette, index) -> {
+                        int at = ((y - minHeight) << 8) | ((z & 15) << 4) | (x & 15);
+                        GridEntry entry = palette.entry(index);
+                        s.blocks[at] = entry.material();
+
+                        if (entry.isChest()) {
+                            s.tiles.put(at, new Tile(x, y, z, true, SkyGridPopulator.chestPoolId(config, palette, profile), null, -1));
+                        } else if (entry.isSpawner()) {
+                            s.tiles.put(at, new Tile(x, y, z, false, -1, SkyGridPopulator.spawnerMob(settings, palette, seed, x, y, z),
+                                    SkyGridPopulator.spawnerDelay(config.spawners(), seed, x, y, z)));
+                        } else {
+                            s.tiles.remove(at);
+                        }
+                    });
+
+            try {
+                byte[] data = encode(s, chunkX, chunkZ);
+                chunks.increment();
+                return data;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private byte[] encode(Scratch s, int chunkX, int chunkZ) throws IOException {
+            s.bytes.reset();
+            DeflaterOutputStream deflate = new DeflaterOutputStream(s.bytes, s.deflater);
+            NbtWriter nbt = new NbtWriter(deflate);
+
+            nbt.beginRoot()
+                    .putInt("DataVersion", dataVersion)
+                    .putInt("xPos", chunkX)
+                    .putInt("zPos", chunkZ)
+                    .putInt("yPos", minHeight >> 4)
+                    .putString("Status", "minecraft:full")
+                    .putLong("LastUpdate", 0L)
+                    .putLong("InhabitedTime", 0L)
+                    .putByte("isLightOn", 0);
+
+            int sections = (maxHeight - minHeight) >> 4;
+            nbt.beginList("sections", NbtWriter.COMPOUND, sections);
+            for (int section = 0; section < sections; section++) {
+                nbt.putByte("Y", (minHeight >> 4) + section);
+                blockStates(nbt, s, section << 12);
+                biomes(nbt, s, chunkX << 4, minHeight + (section << 4), chunkZ << 4);
+                nbt.end();
+            }
+
+            nbt.beginList("block_entities", NbtWriter.COMPOUND, s.tiles.size());
+            for (Tile tile : s.tiles.values()) {
+                tile(nbt, tile);
+                nbt.end();
+            }
+
+            nbt.end().flush();
+            deflate.finish();
+            s.deflater.reset();
+            return s.bytes.toByteArray();
+        }
+
+        private void blockStates(NbtWriter nbt, Scratch s, int offset) throws IOException {
+            s.epoch++;
+            int size = 0;
+
+            for (int i = 0; i < 4096; i++) {
+                Material material = s.blocks[offset + i];
+                int ordinal = ((material == null) ? Material.AIR : material).ordinal();
+
+                if (s.stamps[ordinal] != s.epoch) {
+                    s.stamps[ordinal] = s.epoch;
+                    s.slots[ordinal] = size;
+                    s.palette[size++] = ordinal;
+                }
+                s.indices[i] = s.slots[ordinal];
+            }
+
+            nbt.beginCompound("block_states");
+            nbt.beginList("palette", NbtWriter.COMPOUND, size);
+            for (int i = 0; i < size; i++) {
+                nbt.putString("Name", s.materials[s.palette[i]].getKey().toString()).end();
+            }
+            if (size > 1) nbt.putLongArray("data", s.packed, pack(s.indices, 4096, Math.max(4, bits(size)), s.packed));
+            nbt.end();
+        }
+
+        private void biomes(NbtWriter nbt, Scratch s, int baseX, int baseY, int baseZ) throws IOException {
+            List<String> names = s.biomeNames;
+            names.clear();
+
+            for (int i = 0; i < 64; i++) {
+                String biome = sampler.biome(baseX + ((i & 3) << 2), baseY + ((i >> 4) << 2), baseZ + (((i >> 2) & 3) << 2));
+                String name = "minecraft:" + ((biome == null) ? settings.defaultBiome() : biome).toLowerCase(Locale.ROOT);
+
+                int slot = names.indexOf(name);
+                if (slot < 0) {
+                    slot = names.size();
+                    names.add(name);
+                }
+                s.indices[i] = slot;
+            }
+
+            nbt.beginCompound("biomes");
+            nbt.beginList("palette", NbtWriter.STRING, names.size());
+            for (String name : names) nbt.string(name);
+            if (names.size() > 1) nbt.putLongArray("data", s.packed, pack(s.indices, 64, bits(names.size()), s.packed));
+            nbt.end();
+        }
+
+        private void tile(NbtWriter nbt, Tile tile) throws IOException {
+            nbt.putInt("x", tile.x()).putInt("y", tile.y()).putInt("z", tile.z()).putByte("keepPacked", 0);
+
+            if (tile.chest()) {
+                chests.increment();
+                nbt.putString("id", "minecraft:chest")
+                        .beginCompound("PublicBukkitValues")
+                        .putInt(POOL_ID_KEY, tile.poolId())
+                        .end();
+                return;
+            }
+
+            spawners.increment();
+            nbt.putString("id", "minecraft:spawner")
+                    .putShort("Delay", (tile.delay() >= 0) ? Math.min(Short.MAX_VALUE, tile.delay()) : 20)
+                    .putShort("MinSpawnDelay", 200)
+                    .putShort("MaxSpawnDelay", 800)
+                    .putShort("SpawnCount", 4)
+                    .putShort("MaxNearbyEntities", 6)
+                    .putShort("RequiredPlayerRange", 16)
+                    .putShort("SpawnRange", 4)
+                    .beginCompound("PublicBukkitValues")
+                    .putByte(SPAWNER_KEY, 1)
+                    .end();
+
+            if (tile.mob() != null) {
+                nbt.beginCompound("SpawnData")
+                        .beginCompound("entity")
+                        .putString("id", tile.mob().getKey().toString())
+                        .end()
+                        .end();
+            }
+        }
+    }
+
+    private static int pack(int[] indices, int count, int bits, long[] out) {
+        int perLong = 64 / bits;
+        int longs = (count + perLong - 1) / perLong;
+        Arrays.fill(out, 0, longs, 0L);
+
+        for (int i = 0; i < count; i++) out[i / perLong] |= (long) indices[i] << ((i % perLong) * bits);
+        return longs;
+    }
+
+    private static int bits(int size) {
+        return 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    private record Tile(int x, int y, int z, boolean chest, int poolId, EntityType mob, int delay) {}
+
+    private static final class Scratch {
+        final Material[] materials = Material.values();
+        final Material[] blocks;
+        final int[] stamps = new int[materials.length];
+        final int[] slots = new int[materials.length];
+        final int[] palette = new int[4096];
+        final int[] indices = new int[4096];
+        final long[] packed = new long[4096];
+        final List<String> biomeNames = new ArrayList<>();
+        final Map<Integer, Tile> tiles = new LinkedHashMap<>();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        final Deflater deflater = new Deflater();
+        int epoch;
+
+        Scratch(int height) {
+            this.blocks = new Material[height << 8];
+        }
+
+        void reset() {
+            Arrays.fill(blocks, null);
+            tiles.clear();
+        }
+    }
+}
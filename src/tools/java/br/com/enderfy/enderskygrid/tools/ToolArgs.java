@@ -0,0 +1,76 @@
+package br.com.enderfy.enderskygrid.tools;
+
+import br.com.enderfy.enderskygrid.config.ConfigManager;
+import br.com.enderfy.enderskygrid.generator.SkyGridGenerators;
+import br.com.enderfy.enderskygrid.model.SkyGridConfig;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+final class ToolArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    ToolArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + arg);
+
+            String key = arg.substring(2);
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                values.put(key.substring(0, eq).toLowerCase(Locale.ROOT), key.substring(eq + 1));
+                continue;
+            }
+
+            key = key.toLowerCase(Locale.ROOT);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                values.put(key, args[++i]);
+            } else {
+                values.put(key, "true");
+            }
+        }
+    }
+
+    String string(String key, String fallback) {
+        return values.getOrDefault(key, fallback);
+    }
+
+    long number(String key, long fallback) {
+        String raw = values.get(key);
+        if (raw == null) return fallback;
+        try {
+            return Long.parseLong(raw.replace("_", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("--" + key + " expects a number, got " + raw);
+        }
+    }
+
+    int threads() {
+        return (int) Math.max(1, number("threads", Runtime.getRuntime().availableProcessors()));
+    }
+
+    String profile(String world) {
+        String profile = string("profile", world).toLowerCase(Locale.ROOT);
+        if (!SkyGridGenerators.PROFILES.contains(profile)) {
+            throw new IllegalArgumentException("--profile must be one of " + SkyGridGenerators.PROFILES);
+        }
+        return profile;
+    }
+
+    SkyGridConfig config(Logger logger) {
+        return config(logger, "src/main/resources/config.yml");
+    }
+
+    SkyGridConfig config(Logger logger, String fallback) {
+        File file = new File(string("config", fallback));
+        if (!file.isFile()) throw new IllegalArgumentException("Config not found: " + file.getAbsolutePath());
+
+        String dataFolder = values.get("data-folder");
+        return ConfigManager.parse(YamlConfiguration.loadConfiguration(file), logger, (dataFolder == null) ? null : new File(dataFolder), false);
+    }
+}